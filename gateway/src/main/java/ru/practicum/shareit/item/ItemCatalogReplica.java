@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import ru.practicum.shareit.item.search.ItemTextIndex;
+import ru.practicum.shareit.journal.ChangeClient;
+import ru.practicum.shareit.journal.ChangeRecordDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only copy of the searchable item catalog kept at the gateway. It is loaded from
+ * the server's item listing once and then follows the server's change journal; while
+ * it is fresh it answers plain item searches, otherwise searches go to the server.
+ * The copy is an {@link ItemTextIndex}, which pages matches like the server's {@code index}
+ * search engine; with any other engine named by the server the replica turns itself off.
+ */
+@Slf4j
+@Component
+public class ItemCatalogReplica {
+    private static final int SYNC_BATCH_SIZE = 1000;
+    private static final String SEARCH_ENGINE_HEADER = "X-Search-Engine";
+    private static final String INDEX_ENGINE = "index";
+
+    private final ItemClient itemClient;
+    private final ChangeClient changeClient;
+    private final ObjectMapper objectMapper;
+    private volatile boolean enabled;
+    private final Duration maxStaleness;
+    private final ItemTextIndex<ItemDto> items = new ItemTextIndex<>();
+    private final Counter served;
+    private final Counter fallbacks;
+    private Long seq;
+    private volatile LocalDateTime syncedAt;
+
+    public ItemCatalogReplica(ItemClient itemClient,
+                              ChangeClient changeClient,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.catalog-replica.enabled:false}") boolean enabled,
+                              @Value("${shareit.catalog-replica.max-staleness:PT30S}") Duration maxStaleness) {
+        this.itemClient = itemClient;
+        this.changeClient = changeClient;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxStaleness = maxStaleness;
+        this.served = meterRegistry.counter("item.search.replica.requests", "result", "served");
+        this.fallbacks = meterRegistry.counter("item.search.replica.requests", "result", "fallback");
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.catalog-replica.sync-interval:PT5S}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            if (seq == null && !load()) {
+                return;
+            }
+            int read;
+            do {
+                read = changeClient.read(seq, SYNC_BATCH_SIZE, this::apply);
+            } while (read == SYNC_BATCH_SIZE);
+            syncedAt = startedAt;
+        } catch (RestClientException | IllegalArgumentException e) {
+            log.warn("item catalog replica sync failed at change {}, last synced at {}", seq, syncedAt, e);
+        }
+    }
+
+    public boolean isFresh() {
+        if (!enabled) {
+            return false;
+        }
+        LocalDateTime synced = syncedAt;
+        boolean fresh = synced != null && !synced.plus(maxStaleness).isBefore(LocalDateTime.now());
+        (fresh ? served : fallbacks).increment();
+        return fresh;
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        return items.search(text, from, size);
+    }
+
+    private boolean load() {
+        long head = changeClient.lastSeq();
+        items.clear();
+        long afterId = 0;
+        List<ItemDto> batch;
+        do {
+            ResponseEntity<List<ItemDto>> page = itemClient.findCatalogPage(afterId, SYNC_BATCH_SIZE);
+            String engine = page.getHeaders().getFirst(SEARCH_ENGINE_HEADER);
+            if (!INDEX_ENGINE.equals(engine)) {
+                enabled = false;
+                items.clear();
+                log.error("item catalog replica disabled: server search engine is {}, the replica pages like {}",
+                        engine, INDEX_ENGINE);
+                return false;
+            }
+            batch = page.getBody();
+            for (ItemDto item : batch) {
+                put(item);
+                afterId = item.getId();
+            }
+        } while (batch.size() == SYNC_BATCH_SIZE);
+        seq = head;
+        log.info("item catalog replica loaded at change {}, {} available items", head, items.size());
+        return true;
+    }
+
+    private void apply(ChangeRecordDto change) {
+        if ("ITEM".equals(change.getEntity())) {
+            if ("DELETE".equals(change.getOperation())) {
+                items.remove(change.getEntityId());
+            } else {
+                put(objectMapper.convertValue(change.getPayload(), ItemDto.class));
+            }
+        }
+        seq = change.getSeq();
+    }
+
+    private void put(ItemDto item) {
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            items.put(item.getId(), item.getName(), item.getDescription(), item);
+        } else {
+            items.remove(item.getId());
+        }
+    }
+}
@@ -3,12 +3,17 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -49,12 +54,48 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findByRequest(String text, int from, int size) {
+    public ResponseEntity<Object> getCalendar(Long itemId, LocalDate from, LocalDate to) {
         Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/calendar?from={from}&to={to}", null, parameters);
+    }
+
+    public ResponseEntity<Object> findByRequest(String text, int from, int size, boolean fuzzy, LocalDate start, LocalDate end) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
+                "size", size,
+                "fuzzy", fuzzy
+        ));
+        String path = "/search?text={text}&from={from}&size={size}&fuzzy={fuzzy}";
+        if (start != null) {
+            parameters.put("start", start);
+            path += "&start={start}";
+        }
+        if (end != null) {
+            parameters.put("end", end);
+            path += "&end={end}";
+        }
+        return get(path, null, parameters);
+    }
+
+    public ResponseEntity<Object> suggest(String prefix, int size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/suggest?prefix={prefix}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<List<ItemDto>> findCatalogPage(long afterId, int size) {
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return rest.exchange("/changes?afterId={afterId}&size={size}", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<ItemDto>>() {
+                }, parameters);
     }
 }
@@ -1,14 +1,17 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exceptions.BadRequestException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDate;
 
 @RestController
 @Validated
@@ -18,6 +21,7 @@ public class ItemController {
 
     private final String userHeaderId = "X-Sharer-User-Id";
     private final ItemClient itemClient;
+    private final ItemCatalogReplica itemCatalogReplica;
 
     @PostMapping
     public ResponseEntity<Object> create(@Valid @RequestBody ItemDto itemDto,
@@ -51,10 +55,32 @@ public class ItemController {
         return itemClient.getAllByUserId(userId, from, size);
     }
 
+    @GetMapping("/{itemId}/calendar")
+    public ResponseEntity<Object> getCalendar(@NotNull @PathVariable Long itemId,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("wrong calendar from and to dates");
+        }
+        return itemClient.getCalendar(itemId, from, to);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> findByRequest(@RequestParam String text,
                                                 @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                @RequestParam(defaultValue = "10") @Positive int size) {
-        return itemClient.findByRequest(text, from, size);
+                                                @RequestParam(defaultValue = "10") @Positive int size,
+                                                @RequestParam(defaultValue = "false") boolean fuzzy,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        if (!fuzzy && start == null && end == null && itemCatalogReplica.isFresh()) {
+            return ResponseEntity.ok(itemCatalogReplica.search(text, from, size));
+        }
+        return itemClient.findByRequest(text, from, size, fuzzy, start, end);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggest(@RequestParam String prefix,
+                                          @RequestParam(defaultValue = "10") @Positive int size) {
+        return itemClient.suggest(prefix, size);
     }
 }
\ No newline at end of file
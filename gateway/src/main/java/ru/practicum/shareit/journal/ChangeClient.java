@@ -0,0 +1,54 @@
+package ru.practicum.shareit.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+@Service
+public class ChangeClient extends BaseClient {
+    private static final String API_PREFIX = "/changes";
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ChangeClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                        ObjectMapper objectMapper) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .build()
+        );
+        this.objectMapper = objectMapper;
+    }
+
+    public long lastSeq() {
+        return rest.getForObject("/last", Long.class);
+    }
+
+    public int read(long since, int limit, Consumer<ChangeRecordDto> consumer) {
+        return rest.execute("?since={since}&limit={limit}", HttpMethod.GET, null, response -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+            int count = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    consumer.accept(objectMapper.readValue(line, ChangeRecordDto.class));
+                    count++;
+                }
+            }
+            return count;
+        }, since, limit);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.journal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ChangeRecordDto {
+    private Long seq;
+    private String entity;
+    private Long entityId;
+    private String operation;
+    private LocalDateTime created;
+    private JsonNode payload;
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class ItemSearchTokenizer {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public static List<String> tokenize(String text) {
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase()))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Every suffix of every word of the texts, so that a substring of a word is a prefix of one of them.
+     */
+    public static Set<String> suffixes(String... texts) {
+        Set<String> suffixes = new HashSet<>();
+        for (String text : texts) {
+            for (String word : tokenize(text)) {
+                for (int i = 0; i < word.length(); i++) {
+                    suffixes.add(word.substring(i));
+                }
+            }
+        }
+        return suffixes;
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * On-heap inverted index of item names and descriptions that matches like the server's item search
+ * index: every word of the text is found through the suffixes of the item's words, the whole text has
+ * to occur in the name or the description ignoring case, and matches are paged in id order.
+ */
+public class ItemTextIndex<T> {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+    private final NavigableMap<String, NavigableSet<Long>> postings = new TreeMap<>();
+
+    public void put(Long id, String name, String description, T value) {
+        Entry<T> entry = new Entry<>(value, name.toLowerCase(), description.toLowerCase());
+        lock.writeLock().lock();
+        try {
+            removeIndexed(id);
+            entries.put(id, entry);
+            for (String key : entry.keys()) {
+                postings.computeIfAbsent(key, k -> new TreeSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeIndexed(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<T> search(String text, int from, int size) {
+        List<String> words = ItemSearchTokenizer.tokenize(text);
+        List<T> result = new ArrayList<>();
+        if (words.isEmpty()) {
+            return result;
+        }
+        String query = text.toLowerCase();
+
+        lock.readLock().lock();
+        try {
+            NavigableSet<Long> candidates = null;
+            for (String word : words) {
+                NavigableSet<Long> matches = new TreeSet<>();
+                postings.subMap(word, true, word + Character.MAX_VALUE, false).values().forEach(matches::addAll);
+                if (candidates == null) {
+                    candidates = matches;
+                } else {
+                    candidates.retainAll(matches);
+                }
+                if (candidates.isEmpty()) {
+                    return result;
+                }
+            }
+
+            long skip = (long) from * size;
+            for (Long id : candidates) {
+                Entry<T> entry = entries.get(id);
+                if (!entry.matches(query)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(entry.value);
+                if (result.size() == size) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeIndexed(Long id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String key : entry.keys()) {
+            NavigableSet<Long> ids = postings.get(key);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static class Entry<T> {
+        private final T value;
+        private final String name;
+        private final String description;
+
+        Entry(T value, String name, String description) {
+            this.value = value;
+            this.name = name;
+            this.description = description;
+        }
+
+        Iterable<String> keys() {
+            return ItemSearchTokenizer.suffixes(name, description);
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+    }
+}
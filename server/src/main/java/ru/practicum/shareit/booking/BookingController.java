@@ -4,8 +4,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.service.BookingCreationPipeline;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingState;
+import ru.practicum.shareit.booking.service.ConcurrencyRetry;
 
 import java.util.List;
 
@@ -14,19 +16,21 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingCreationPipeline bookingCreationPipeline;
+    private final ConcurrencyRetry concurrencyRetry;
     private final String userHeaderId = "X-Sharer-User-Id";
 
     @PostMapping
     public BookingDto create(@RequestBody BookingBriefDto bookingBriefDto,
                              @RequestHeader(userHeaderId) Long userId) {
-        return bookingService.create(bookingBriefDto, userId);
+        return bookingCreationPipeline.create(bookingBriefDto, userId);
     }
 
     @PatchMapping("/{bookingId}")
     public BookingDto approve(@PathVariable Long bookingId,
                               @RequestHeader(userHeaderId) Long userId,
                               @RequestParam Boolean approved) {
-        return bookingService.approve(bookingId, userId, approved);
+        return concurrencyRetry.run(() -> bookingService.approve(bookingId, userId, approved));
     }
 
     @GetMapping("/owner")
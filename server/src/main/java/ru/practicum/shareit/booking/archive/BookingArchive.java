@@ -0,0 +1,207 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cold storage of finished bookings in local files, one directory per month of booking start
+ * holding the segments written by each archive run. Every segment is listed in
+ * booking_archive_entries under each owner and booker it holds, so a lookup reads only that
+ * user's segments, newest first, and stops once the rest cannot change the page.
+ */
+@Component
+public class BookingArchive {
+    private static final String SEGMENT_SUFFIX = ".bka.gz";
+    private static final int ENTRY_PAGE_SIZE = 64;
+
+    private final BookingArchiveEntryRepository entryRepository;
+    private final Path directory;
+    private final boolean enabled;
+
+    public BookingArchive(BookingArchiveEntryRepository entryRepository,
+                          @Value("${shareit.booking.archive.dir:archive/bookings}") Path directory,
+                          @Value("${shareit.booking.archive.enabled:false}") boolean enabled) {
+        this.entryRepository = entryRepository;
+        this.directory = directory;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes the bookings into their month directories, one segment per month, forces the files to
+     * disk and lists the segments under their owners and bookers. Must run in the transaction that
+     * deletes the rows: if it rolls back, the segments are left unlisted and never read, and the
+     * next run archives the rows again.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(List<ArchivedBooking> bookings) throws IOException {
+        Map<YearMonth, List<ArchivedBooking>> months = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> YearMonth.from(booking.getStart()), TreeMap::new,
+                        Collectors.toList()));
+        List<BookingArchiveEntry> entries = new ArrayList<>();
+        for (Map.Entry<YearMonth, List<ArchivedBooking>> month : months.entrySet()) {
+            List<ArchivedBooking> rows = month.getValue();
+            long first = rows.stream().mapToLong(ArchivedBooking::getId).min().orElseThrow();
+            long last = rows.stream().mapToLong(ArchivedBooking::getId).max().orElseThrow();
+            String segment = month.getKey() + "/" + first + "-" + last + SEGMENT_SUFFIX;
+            BookingArchiveSegment.write(directory.resolve(segment), rows);
+            entries.addAll(entries(segment, rows, BookingArchiveRole.OWNER));
+            entries.addAll(entries(segment, rows, BookingArchiveRole.BOOKER));
+        }
+        entryRepository.saveAll(entries);
+    }
+
+    /**
+     * Upper bound of the start of every archived booking: the first day after the newest archived month,
+     * or null when nothing has been archived.
+     */
+    public LocalDateTime getArchivedBefore() {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return null;
+        }
+        try {
+            List<Path> months = list(directory, Files::isDirectory);
+            return months.isEmpty() ? null
+                    : YearMonth.parse(months.get(0).getFileName().toString()).plusMonths(1).atDay(1).atStartOfDay();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<ArchivedBooking> findByOwnerId(Long ownerId, int limit) {
+        return find(ownerId, BookingArchiveRole.OWNER, limit);
+    }
+
+    public List<ArchivedBooking> findByBookerId(Long bookerId, int limit) {
+        return find(bookerId, BookingArchiveRole.BOOKER, limit);
+    }
+
+    /**
+     * Looks the booking up among the user's archived bookings as booker, then as owner. Segments are
+     * named after the range of ids they hold, so only segments whose range covers the id are read.
+     */
+    public Optional<ArchivedBooking> findById(Long bookingId, Long userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            for (BookingArchiveRole role : List.of(BookingArchiveRole.BOOKER, BookingArchiveRole.OWNER)) {
+                for (int entryPage = 0; ; entryPage++) {
+                    List<BookingArchiveEntry> entries = entryRepository.findAllByUserIdAndRoleOrderByNewestStartDesc(
+                            userId, role, PageRequest.of(entryPage, ENTRY_PAGE_SIZE));
+                    for (BookingArchiveEntry entry : entries) {
+                        if (!holds(entry.getSegment(), bookingId)) {
+                            continue;
+                        }
+                        Optional<ArchivedBooking> booking = BookingArchiveSegment.read(directory.resolve(entry.getSegment()))
+                                .stream()
+                                .filter(archived -> archived.getId().equals(bookingId)
+                                        && userId.equals(actor(archived, role)))
+                                .findFirst();
+                        if (booking.isPresent()) {
+                            return booking;
+                        }
+                    }
+                    if (entries.size() < ENTRY_PAGE_SIZE) {
+                        break;
+                    }
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns up to limit bookings of the user, newest start first. Segments are read in the order of
+     * the newest booking of the user they hold, until limit bookings are found that are all newer than
+     * anything in the next segment.
+     */
+    private List<ArchivedBooking> find(Long userId, BookingArchiveRole role, int limit) {
+        if (!enabled) {
+            return List.of();
+        }
+        Map<Long, ArchivedBooking> found = new HashMap<>();
+        List<ArchivedBooking> page = List.of();
+        try {
+            for (int entryPage = 0; ; entryPage++) {
+                List<BookingArchiveEntry> entries = entryRepository.findAllByUserIdAndRoleOrderByNewestStartDesc(
+                        userId, role, PageRequest.of(entryPage, ENTRY_PAGE_SIZE));
+                for (BookingArchiveEntry entry : entries) {
+                    if (page.size() >= limit && page.get(limit - 1).getStart().isAfter(entry.getNewestStart())) {
+                        return page;
+                    }
+                    BookingArchiveSegment.read(directory.resolve(entry.getSegment())).stream()
+                            .filter(booking -> userId.equals(actor(booking, role)))
+                            .forEach(booking -> found.putIfAbsent(booking.getId(), booking));
+                    page = found.values().stream()
+                            .sorted(BookingArchiveSegment.NEWEST_FIRST)
+                            .limit(limit)
+                            .collect(Collectors.toList());
+                }
+                if (entries.size() < ENTRY_PAGE_SIZE) {
+                    return page;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<BookingArchiveEntry> entries(String segment, List<ArchivedBooking> rows,
+                                                     BookingArchiveRole role) {
+        return rows.stream()
+                .collect(Collectors.toMap(booking -> actor(booking, role), ArchivedBooking::getStart,
+                        BinaryOperator.maxBy(Comparator.naturalOrder())))
+                .entrySet().stream()
+                .map(user -> new BookingArchiveEntry(null, user.getKey(), role, segment, user.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Whether the segment, named month/first-last, covers the booking id.
+     */
+    private static boolean holds(String segment, long bookingId) {
+        String range = segment.substring(segment.indexOf('/') + 1, segment.length() - SEGMENT_SUFFIX.length());
+        int dash = range.indexOf('-');
+        return Long.parseLong(range.substring(0, dash)) <= bookingId
+                && bookingId <= Long.parseLong(range.substring(dash + 1));
+    }
+
+    private static Long actor(ArchivedBooking booking, BookingArchiveRole role) {
+        return role == BookingArchiveRole.OWNER ? booking.getOwnerId() : booking.getBookerId();
+    }
+
+    private static List<Path> list(Path directory, Predicate<Path> filter) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(filter)
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+}
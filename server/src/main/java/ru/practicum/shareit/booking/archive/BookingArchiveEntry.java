@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A segment holding archived bookings of a user in the given role, with the newest start among them.
+ */
+@Entity
+@Table(name = "booking_archive_entries")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingArchiveEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private BookingArchiveRole role;
+
+    @Column(length = 64, nullable = false)
+    private String segment;
+
+    @Column(name = "newest_start", nullable = false)
+    private LocalDateTime newestStart;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BookingArchiveEntryRepository extends JpaRepository<BookingArchiveEntry, Long> {
+    List<BookingArchiveEntry> findAllByUserIdAndRoleOrderByNewestStartDesc(Long userId, BookingArchiveRole role,
+                                                                          Pageable pageable);
+}
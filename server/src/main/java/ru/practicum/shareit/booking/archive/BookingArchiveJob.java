@@ -0,0 +1,101 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves bookings that ended more than horizon ago from the booking table to the {@link BookingArchive}.
+ * Each batch is written and forced to disk before its rows are deleted in the same transaction; if the
+ * delete fails the rows stay hot and are archived again by the next run.
+ */
+@Slf4j
+@Component
+public class BookingArchiveJob {
+    private final BookingRepository bookingRepository;
+    private final BookingArchive bookingArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter archived;
+
+    public BookingArchiveJob(BookingRepository bookingRepository,
+                             BookingArchive bookingArchive,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${shareit.booking.archive.horizon:P365D}") Duration horizon,
+                             @Value("${shareit.booking.archive.batch-size:1000}") int batchSize,
+                             @Value("${shareit.booking.archive.max-batches:100}") int maxBatches) {
+        this.bookingRepository = bookingRepository;
+        this.bookingArchive = bookingArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.archived = Counter.builder("booking.archive.archived")
+                .description("Finished bookings moved to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking.archive.interval:PT1H}",
+            fixedDelayString = "${shareit.booking.archive.interval:PT1H}")
+    public void run() {
+        if (bookingArchive.isEnabled()) {
+            archive(LocalDateTime.now().minus(horizon));
+        }
+    }
+
+    /**
+     * Archives bookings that ended before the given time, stopping after max-batches transactions.
+     *
+     * @return number of bookings archived
+     */
+    public int archive(LocalDateTime endedBefore) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer count = transactionTemplate.execute(status -> archiveBatch(endedBefore));
+            if (count == null || count == 0) {
+                break;
+            }
+            total += count;
+            archived.increment(count);
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("{} bookings ended before {} archived", total, endedBefore);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime endedBefore) {
+        List<ArchivedBooking> bookings = bookingRepository.findArchivable(endedBefore, PageRequest.of(0, batchSize));
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+        try {
+            bookingArchive.write(bookings);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bookingRepository.deleteAllByIdIn(bookings.stream()
+                .map(ArchivedBooking::getId)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.archive;
+
+public enum BookingArchiveRole {
+    OWNER,
+    BOOKER
+}
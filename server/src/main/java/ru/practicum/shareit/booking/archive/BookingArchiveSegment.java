@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.archive;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped file of archived bookings stored column by column: all ids, then all starts, ends, item, booker
+ * and owner ids, then the statuses. Rows are ordered by start descending and numeric columns are delta
+ * encoded, so neighbouring values are small and similar and compress well.
+ */
+public final class BookingArchiveSegment {
+    private static final int MAGIC = 0x424B4152;
+    private static final int VERSION = 1;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    static final Comparator<ArchivedBooking> NEWEST_FIRST = Comparator.comparing(ArchivedBooking::getStart)
+            .thenComparing(ArchivedBooking::getId).reversed();
+
+    private BookingArchiveSegment() {
+    }
+
+    public static void write(Path file, List<ArchivedBooking> bookings) throws IOException {
+        List<ArchivedBooking> rows = new ArrayList<>(bookings);
+        rows.sort(NEWEST_FIRST);
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temporary.toFile())) {
+            GZIPOutputStream gzip = new GZIPOutputStream(stream);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rows.size());
+            writeColumn(out, rows, booking -> booking.getId());
+            writeColumn(out, rows, booking -> toMicros(booking.getStart()));
+            writeColumn(out, rows, booking -> toMicros(booking.getEnd()));
+            writeColumn(out, rows, booking -> booking.getItemId());
+            writeColumn(out, rows, booking -> booking.getBookerId());
+            writeColumn(out, rows, booking -> booking.getOwnerId());
+            for (ArchivedBooking booking : rows) {
+                out.writeByte(booking.getStatus().ordinal());
+            }
+            out.flush();
+            gzip.finish();
+            stream.getFD().sync();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static List<ArchivedBooking> read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not a booking archive segment: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("unsupported booking archive segment version " + version + ": " + file);
+            }
+            int count = in.readInt();
+            long[] ids = readColumn(in, count);
+            long[] starts = readColumn(in, count);
+            long[] ends = readColumn(in, count);
+            long[] itemIds = readColumn(in, count);
+            long[] bookerIds = readColumn(in, count);
+            long[] ownerIds = readColumn(in, count);
+            List<ArchivedBooking> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                rows.add(new ArchivedBooking(ids[i], fromMicros(starts[i]), fromMicros(ends[i]), itemIds[i],
+                        bookerIds[i], ownerIds[i], STATUSES[in.readUnsignedByte()]));
+            }
+            return rows;
+        }
+    }
+
+    private interface LongColumn {
+        long get(ArchivedBooking booking);
+    }
+
+    private static void writeColumn(DataOutputStream out, List<ArchivedBooking> rows, LongColumn column)
+            throws IOException {
+        long previous = 0;
+        for (ArchivedBooking booking : rows) {
+            long value = column.get(booking);
+            out.writeLong(value - previous);
+            previous = value;
+        }
+    }
+
+    private static long[] readColumn(DataInputStream in, int count) throws IOException {
+        long[] values = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += in.readLong();
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS);
+    }
+}
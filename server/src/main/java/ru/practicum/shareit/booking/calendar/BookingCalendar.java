@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking.calendar;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingRemovedEvent;
+import ru.practicum.shareit.booking.service.BookingSavedEvent;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Busy intervals (waiting and approved bookings) per item. An item's tree is loaded on
+ * first request and then kept up to date from committed booking changes; at most max-size
+ * items are kept, least recently used are evicted.
+ */
+@Component
+public class BookingCalendar {
+    static final Set<BookingStatus> BUSY_STATUSES = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final int LOADER_THREADS = 4;
+
+    private final BookingRepository bookingRepository;
+    private final ExecutorService loader;
+    private final AsyncCache<Long, BookingIntervalTree> trees;
+
+    public BookingCalendar(BookingRepository bookingRepository,
+                           @Value("${shareit.booking.calendar.max-size:10000}") long maxSize) {
+        this.bookingRepository = bookingRepository;
+        this.loader = Executors.newFixedThreadPool(LOADER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "booking-calendar-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .buildAsync();
+    }
+
+    public List<BookingIntervalDto> findBusy(Long itemId, LocalDateTime from, LocalDateTime to) {
+        BookingIntervalTree tree;
+        try {
+            tree = tree(itemId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return tree.find(from, to);
+    }
+
+    /**
+     * Runs after commit, so a loaded tree only misses the booking if its load started
+     * earlier; a tree still loading is dropped and loaded again on the next request.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingSaved(BookingSavedEvent event) {
+        BookingIntervalTree tree = loadedTree(event.getItemId());
+        if (tree == null) {
+            return;
+        }
+        if (BUSY_STATUSES.contains(event.getStatus())) {
+            tree.put(new BookingIntervalDto(event.getBookingId(), event.getStart(), event.getEnd(),
+                    event.getStatus()));
+        } else {
+            tree.remove(event.getBookingId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingRemoved(BookingRemovedEvent event) {
+        BookingIntervalTree tree = loadedTree(event.getItemId());
+        if (tree != null) {
+            tree.remove(event.getBookingId());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * The future is in the cache before its query starts, so a booking committed while the
+     * tree loads always finds it and drops it.
+     */
+    private CompletableFuture<BookingIntervalTree> tree(Long itemId) {
+        CompletableFuture<BookingIntervalTree> loading = new CompletableFuture<>();
+        CompletableFuture<BookingIntervalTree> cached = trees.asMap().putIfAbsent(itemId, loading);
+        if (cached != null) {
+            return cached;
+        }
+        loader.execute(() -> {
+            try {
+                loading.complete(load(itemId));
+            } catch (RuntimeException e) {
+                trees.asMap().remove(itemId, loading);
+                loading.completeExceptionally(e);
+            }
+        });
+        return loading;
+    }
+
+    /**
+     * The item's tree if it is loaded; a tree still loading is dropped instead.
+     */
+    private BookingIntervalTree loadedTree(Long itemId) {
+        CompletableFuture<BookingIntervalTree> loading = trees.getIfPresent(itemId);
+        if (loading == null) {
+            return null;
+        }
+        if (!loading.isDone()) {
+            trees.synchronous().invalidate(itemId);
+            return null;
+        }
+        if (loading.isCompletedExceptionally()) {
+            return null;
+        }
+        return loading.getNow(null);
+    }
+
+    private BookingIntervalTree load(Long itemId) {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        bookingRepository.findIntervalsByItemIdAndStatusIn(itemId, BUSY_STATUSES).forEach(tree::put);
+        return tree;
+    }
+}
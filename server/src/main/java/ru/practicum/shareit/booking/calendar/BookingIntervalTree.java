@@ -0,0 +1,181 @@
+package ru.practicum.shareit.booking.calendar;
+
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booking intervals of one item in a treap ordered by start. Every node keeps the latest
+ * end in its subtree, so an overlap query skips subtrees that end before the window.
+ */
+public class BookingIntervalTree {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private Node root;
+
+    public void put(BookingIntervalDto interval) {
+        lock.writeLock().lock();
+        try {
+            Node previous = nodes.remove(interval.getBookingId());
+            if (previous != null) {
+                root = delete(root, previous);
+            }
+            Node node = new Node(interval);
+            nodes.put(interval.getBookingId(), node);
+            root = insert(root, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookingId) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.remove(bookingId);
+            if (node != null) {
+                root = delete(root, node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Intervals overlapping {@code [from, to)}, ordered by start.
+     */
+    public List<BookingIntervalDto> find(LocalDateTime from, LocalDateTime to) {
+        List<BookingIntervalDto> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            collect(root, from, to, result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<BookingIntervalDto> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (!node.interval.getStart().isBefore(to)) {
+            return;
+        }
+        if (node.interval.getEnd().isAfter(from)) {
+            result.add(node.interval);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, Node deleted) {
+        if (node == deleted) {
+            return merge(node.left, node.right);
+        }
+        if (compare(deleted, node) < 0) {
+            node.left = delete(node.left, deleted);
+        } else {
+            node.right = delete(node.right, deleted);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        node.update();
+        left.right = node;
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        node.update();
+        right.left = node;
+        right.update();
+        return right;
+    }
+
+    private static int compare(Node first, Node second) {
+        int result = first.interval.getStart().compareTo(second.interval.getStart());
+        return result != 0 ? result : first.interval.getBookingId().compareTo(second.interval.getBookingId());
+    }
+
+    private static class Node {
+        private final BookingIntervalDto interval;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(BookingIntervalDto interval) {
+            this.interval = interval;
+            this.priority = Long.hashCode(interval.getBookingId() * 0x9E3779B97F4A7C15L);
+            this.maxEnd = interval.getEnd();
+        }
+
+        void update() {
+            maxEnd = interval.getEnd();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingMapper;
+import ru.practicum.shareit.booking.service.BookingSavedEvent;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.service.ChangeJournal;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cancels bookings that are still waiting for approval after their start has passed.
+ * Works in short transactions of at most batch-size bookings each: the batch is
+ * cancelled with one set-based update and journaled, so row locks on the booking table
+ * are held only for one batch.
+ */
+@Slf4j
+@Component
+public class BookingExpiryJob {
+    private final BookingRepository bookingRepository;
+    private final ChangeJournal changeJournal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration grace;
+    private final Counter expired;
+    private final Timer batches;
+
+    public BookingExpiryJob(BookingRepository bookingRepository,
+                            ChangeJournal changeJournal,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.booking.expiry.enabled:true}") boolean enabled,
+                            @Value("${shareit.booking.expiry.batch-size:500}") int batchSize,
+                            @Value("${shareit.booking.expiry.max-batches:100}") int maxBatches,
+                            @Value("${shareit.booking.expiry.grace:PT0S}") Duration grace) {
+        this.bookingRepository = bookingRepository;
+        this.changeJournal = changeJournal;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.grace = grace;
+        this.expired = Counter.builder("booking.expiry.expired")
+                .description("Waiting bookings cancelled because their start has passed")
+                .register(meterRegistry);
+        this.batches = Timer.builder("booking.expiry.batch")
+                .description("Expiry transactions")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking.expiry.interval:PT1M}",
+            fixedDelayString = "${shareit.booking.expiry.interval:PT1M}")
+    public void run() {
+        if (enabled) {
+            expire(LocalDateTime.now().minus(grace));
+        }
+    }
+
+    /**
+     * Cancels waiting bookings that started before the given time, stopping after
+     * max-batches transactions; the rest is left for the next run.
+     *
+     * @return number of bookings cancelled
+     */
+    public int expire(LocalDateTime startedBefore) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer count = batches.record(() -> transactionTemplate.execute(status -> expireBatch(startedBefore)));
+            if (count == null || count == 0) {
+                break;
+            }
+            total += count;
+            expired.increment(count);
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("{} waiting bookings started before {} cancelled", total, startedBefore);
+        }
+        return total;
+    }
+
+    /**
+     * The update re-checks the status, so a booking approved or rejected after the ids
+     * were read is left alone; the bookings cancelled here are then read back under the
+     * row locks the update holds.
+     */
+    private int expireBatch(LocalDateTime startedBefore) {
+        List<Long> ids = bookingRepository.findIdsByStatusAndStartBefore(BookingStatus.WAITING, startedBefore,
+                PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int cancelled = bookingRepository.updateStatus(ids, BookingStatus.WAITING, BookingStatus.CANCELED);
+        if (cancelled == 0) {
+            return 0;
+        }
+        for (Booking booking : bookingRepository.findAllWithItemByIdInAndStatus(ids, BookingStatus.CANCELED)) {
+            BookingSavedEvent event = BookingMapper.toBookingSavedEvent(booking);
+            changeJournal.record(ChangeEntity.BOOKING, booking.getId(), ChangeOperation.UPDATE, event);
+            eventPublisher.publishEvent(event);
+        }
+        return cancelled;
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+public enum BookingPhase {
+    STARTED,
+    ENDED;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link BookingTimeline} when an approved booking starts or ends.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BookingPhaseEvent {
+    private final Long bookingId;
+    private final Long itemId;
+    private final BookingPhase phase;
+    private final LocalDateTime at;
+}
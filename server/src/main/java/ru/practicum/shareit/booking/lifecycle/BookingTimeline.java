@@ -0,0 +1,176 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingSavedEvent;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Approved bookings that have not ended yet, each with a timing wheel timer that fires when
+ * the booking starts and when it ends and publishes a {@link BookingPhaseEvent}. Built from the
+ * pending approved bookings at startup, updated from committed booking changes, and advanced
+ * on its own thread so the scheduled jobs can't hold it back. Events may lag by one tick.
+ */
+@Slf4j
+@Component
+public class BookingTimeline {
+    private static final int BATCH_SIZE = 1000;
+    private static final int WHEEL_SIZE = 64;
+
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final long tickMillis;
+    private final ConcurrentMap<Long, BookingBriefDto> pending = new ConcurrentHashMap<>();
+    private TimingWheel<PhaseTimer> wheel;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public BookingTimeline(BookingRepository bookingRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${shareit.booking.lifecycle.tick:PT1S}") Duration tick) {
+        this(bookingRepository, eventPublisher, tick, Clock.systemDefaultZone());
+    }
+
+    public BookingTimeline(BookingRepository bookingRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           Duration tick,
+                           Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.tickMillis = tick.toMillis();
+    }
+
+    @PostConstruct
+    public void start() {
+        build();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-timeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    public void build() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        synchronized (this) {
+            wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, toMillis(now));
+        }
+        long lastId = 0;
+        List<BookingBriefDto> batch;
+        do {
+            batch = bookingRepository.findBriefByStatusAndEndAfter(BookingStatus.APPROVED, now, lastId,
+                    PageRequest.of(0, BATCH_SIZE));
+            for (BookingBriefDto booking : batch) {
+                track(booking, now);
+                lastId = booking.getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        log.info("booking timeline built, {} pending approved bookings", pending.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingSaved(BookingSavedEvent event) {
+        BookingBriefDto booking = new BookingBriefDto(event.getBookingId(), event.getStart(), event.getEnd(),
+                event.getItemId(), event.getBookerId());
+        if (event.getStatus() == BookingStatus.APPROVED) {
+            track(booking, LocalDateTime.now(clock));
+        } else {
+            pending.remove(booking.getId());
+        }
+    }
+
+    public void advance(LocalDateTime now) {
+        List<PhaseTimer> fired = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(toMillis(now), fired::add);
+        }
+        fired.forEach(this::fire);
+    }
+
+    private void tick() {
+        try {
+            advance(LocalDateTime.now(clock));
+        } catch (RuntimeException e) {
+            log.warn("booking timeline tick failed", e);
+        }
+    }
+
+    private void track(BookingBriefDto booking, LocalDateTime now) {
+        if (!booking.getEnd().isAfter(now)) {
+            pending.remove(booking.getId());
+            return;
+        }
+        pending.put(booking.getId(), booking);
+        if (booking.getStart().isAfter(now)) {
+            schedule(new PhaseTimer(booking.getId(), booking.getItemId(), BookingPhase.STARTED, booking.getStart()));
+        }
+        schedule(new PhaseTimer(booking.getId(), booking.getItemId(), BookingPhase.ENDED, booking.getEnd()));
+    }
+
+    private void schedule(PhaseTimer timer) {
+        boolean added;
+        synchronized (this) {
+            added = wheel.add(toMillis(timer.at), timer);
+        }
+        if (!added) {
+            fire(timer);
+        }
+    }
+
+    /**
+     * Timers are not removed when a booking is, so a timer whose booking is no longer
+     * pending with the same period is ignored.
+     */
+    private void fire(PhaseTimer timer) {
+        BookingBriefDto booking = pending.get(timer.bookingId);
+        if (booking == null || !timer.at.equals(timer.phase == BookingPhase.STARTED
+                ? booking.getStart() : booking.getEnd())) {
+            return;
+        }
+        if (timer.phase == BookingPhase.ENDED) {
+            pending.remove(timer.bookingId, booking);
+        }
+        eventPublisher.publishEvent(new BookingPhaseEvent(timer.bookingId, timer.itemId, timer.phase, timer.at));
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    @RequiredArgsConstructor
+    private static class PhaseTimer {
+        private final Long bookingId;
+        private final Long itemId;
+        private final BookingPhase phase;
+        private final LocalDateTime at;
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. The lowest wheel has {@code wheelSize} buckets of one tick
+ * each; every next wheel, created on demand, has buckets as wide as the whole wheel below
+ * it. A timer goes into the lowest wheel that spans its deadline, and a higher wheel's
+ * bucket is moved down when the wheel below reaches the start of it, so adding a timer
+ * and firing it are both O(1) amortized whatever the deadline. Timers fire at the end of
+ * their tick, never before their deadline. Not thread safe.
+ */
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long intervalMillis;
+    private final List<Entry<T>>[] buckets;
+    private final TimingWheel<T> root;
+    private long currentTime;
+    private TimingWheel<T> overflow;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this(tickMillis, wheelSize, startMillis, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TimingWheel(long tickMillis, int wheelSize, long startMillis, TimingWheel<T> root) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.intervalMillis = tickMillis * wheelSize;
+        this.buckets = new List[wheelSize];
+        this.root = root != null ? root : this;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    /**
+     * @return false if the deadline is already behind the wheel and the timer was not added
+     */
+    public boolean add(long deadlineMillis, T timer) {
+        return add(new Entry<>(deadlineMillis, timer));
+    }
+
+    /**
+     * Moves the wheel up to the given time, passing every timer whose tick has ended to
+     * {@code fire} in deadline order of ticks.
+     */
+    public void advance(long nowMillis, Consumer<T> fire) {
+        while (nowMillis >= currentTime + tickMillis) {
+            List<Entry<T>> due = take(currentTime);
+            currentTime += tickMillis;
+            if (overflow != null && Math.floorMod(currentTime, overflow.tickMillis) == 0) {
+                overflow.cascade(currentTime);
+            }
+            if (due != null) {
+                due.forEach(entry -> fire.accept(entry.timer));
+            }
+        }
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * A timer reaches an upper wheel only past the whole span of the wheel below, which
+     * starts within this wheel's current bucket, so it never lands in that bucket.
+     */
+    private boolean add(Entry<T> entry) {
+        if (entry.deadline < currentTime) {
+            return false;
+        }
+        if (entry.deadline < currentTime + intervalMillis) {
+            int index = (int) Math.floorMod(entry.deadline / tickMillis, (long) wheelSize);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            buckets[index].add(entry);
+            return true;
+        }
+        if (overflow == null) {
+            overflow = new TimingWheel<>(intervalMillis, wheelSize, currentTime, root);
+        }
+        return overflow.add(entry);
+    }
+
+    /**
+     * Called when the wheel below has reached {@code time}, the start of this wheel's next
+     * bucket: the bucket's timers now fit into lower wheels and are re-added from the root.
+     */
+    private void cascade(long time) {
+        currentTime = time;
+        List<Entry<T>> moved = take(time);
+        if (overflow != null && Math.floorMod(currentTime, overflow.tickMillis) == 0) {
+            overflow.cascade(currentTime);
+        }
+        if (moved != null) {
+            moved.forEach(root::add);
+        }
+    }
+
+    private List<Entry<T>> take(long time) {
+        int index = (int) Math.floorMod(time / tickMillis, (long) wheelSize);
+        List<Entry<T>> bucket = buckets[index];
+        buckets[index] = null;
+        return bucket;
+    }
+
+    private static class Entry<T> {
+        private final long deadline;
+        private final T timer;
+
+        private Entry(long deadline, T timer) {
+            this.deadline = deadline;
+            this.timer = timer;
+        }
+    }
+}
@@ -32,7 +32,13 @@ public class Booking {
     @JoinColumn(name = "booker_id", referencedColumnName = "id", nullable = false)
     private User booker;
 
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", length = 20)
     private BookingStatus status;
+
+    @Version
+    private Long version;
 }
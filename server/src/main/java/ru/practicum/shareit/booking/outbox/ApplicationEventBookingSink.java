@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hands relayed booking changes to in-process {@code @EventListener} methods taking a
+ * {@link BookingStatusMessage}. Listeners run on the relay thread, one message at a time.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventBookingSink implements BookingEventSink {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String getName() {
+        return "application-events";
+    }
+
+    @Override
+    public void accept(List<BookingStatusMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives booking changes from {@link BookingOutboxRelay} in journal order. Delivery is
+ * at least once: a batch is re-sent if the relay stops before recording it as delivered,
+ * so consumers should skip messages with a seq they have already seen.
+ */
+public interface BookingEventSink {
+    String getName();
+
+    void accept(List<BookingStatusMessage> messages) throws IOException;
+}
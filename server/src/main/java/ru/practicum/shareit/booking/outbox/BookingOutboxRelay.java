@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeRecord;
+import ru.practicum.shareit.journal.service.ChangeSequencer;
+import ru.practicum.shareit.journal.storage.ChangeRecordRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers booking changes to every {@link BookingEventSink}. The booking rows of the
+ * change journal are the outbox: they are written in the same transaction as the booking
+ * itself and numbered in commit order by {@link ChangeSequencer} before each run. Each sink has its own position, locked while a
+ * batch is delivered and moved past the batch only after the sink accepted it.
+ */
+@Slf4j
+@Component
+public class BookingOutboxRelay {
+    private final List<BookingEventSink> sinks;
+    private final ChangeRecordRepository changeRecordRepository;
+    private final ChangeSequencer changeSequencer;
+    private final OutboxRelayPositionRepository positionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public BookingOutboxRelay(List<BookingEventSink> sinks,
+                              ChangeRecordRepository changeRecordRepository,
+                              ChangeSequencer changeSequencer,
+                              OutboxRelayPositionRepository positionRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${shareit.booking.outbox.enabled:false}") boolean enabled,
+                              @Value("${shareit.booking.outbox.batch-size:500}") int batchSize) {
+        this.sinks = sinks;
+        this.changeRecordRepository = changeRecordRepository;
+        this.changeSequencer = changeSequencer;
+        this.positionRepository = positionRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking.outbox.relay-interval:PT1S}",
+            fixedDelayString = "${shareit.booking.outbox.relay-interval:PT1S}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        changeSequencer.sequence();
+        for (BookingEventSink sink : sinks) {
+            try {
+                Integer relayed;
+                do {
+                    relayed = transactionTemplate.execute(status -> relayBatch(sink));
+                } while (relayed != null && relayed == batchSize);
+            } catch (RuntimeException e) {
+                log.warn("booking outbox relay to {} failed, will retry", sink.getName(), e);
+            }
+        }
+    }
+
+    private int relayBatch(BookingEventSink sink) {
+        OutboxRelayPosition position = positionRepository.lockBySink(sink.getName())
+                .orElseGet(() -> positionRepository.save(new OutboxRelayPosition(sink.getName(), 0L)));
+        List<ChangeRecord> records = changeRecordRepository.findAllByEntityAndSeqGreaterThanOrderBySeq(
+                ChangeEntity.BOOKING, position.getLastSeq(), PageRequest.of(0, batchSize));
+        if (records.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.accept(records.stream().map(this::toMessage).collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position.setLastSeq(records.get(records.size() - 1).getSeq());
+        return records.size();
+    }
+
+    private BookingStatusMessage toMessage(ChangeRecord record) {
+        BookingStatusMessage message = new BookingStatusMessage();
+        if (record.getPayload() != null) {
+            try {
+                objectMapper.readerForUpdating(message).readValue(record.getPayload());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("can't read booking change " + record.getSeq(), e);
+            }
+        }
+        message.setSeq(record.getSeq());
+        message.setOperation(record.getOperation());
+        message.setBookingId(record.getEntityId());
+        message.setCreated(record.getCreated());
+        return message;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BookingStatusMessage {
+    private Long seq;
+    private ChangeOperation operation;
+    private Long bookingId;
+    private Long itemId;
+    private Long ownerId;
+    private Long bookerId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private LocalDateTime created;
+}
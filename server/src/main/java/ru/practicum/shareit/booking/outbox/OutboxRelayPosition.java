@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "outbox_relay")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxRelayPosition {
+    @Id
+    @Column(length = 64)
+    private String sink;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+}
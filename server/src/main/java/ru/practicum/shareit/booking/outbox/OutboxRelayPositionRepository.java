@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface OutboxRelayPositionRepository extends JpaRepository<OutboxRelayPosition, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from OutboxRelayPosition p where p.sink = ?1")
+    Optional<OutboxRelayPosition> lockBySink(String sink);
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking.partition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly partitions of the booking table created months-ahead in advance, so new
+ * bookings land in their own month instead of the default partition. Only PostgreSQL
+ * partitions the table (see migration V3); the job stays disabled elsewhere.
+ */
+@Slf4j
+@Component
+public class BookingPartitionMaintainer {
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final Counter created;
+
+    public BookingPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${shareit.booking.partition.enabled:false}") boolean enabled,
+                                      @Value("${shareit.booking.partition.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.created = Counter.builder("booking.partition.created")
+                .description("Monthly booking partitions created")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.partition.interval:PT1H}")
+    public void run() {
+        if (enabled) {
+            ensurePartitions(LocalDate.now());
+        }
+    }
+
+    /**
+     * Creates the missing partitions from the month of the given day up to months-ahead months later.
+     *
+     * @return number of partitions created
+     */
+    public int ensurePartitions(LocalDate today) {
+        int count = 0;
+        LocalDate month = today.withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT create_booking_partition(?)",
+                    Boolean.class, Date.valueOf(month)))) {
+                log.info("booking partition for {} created", month);
+                count++;
+            }
+        }
+        created.increment(count);
+        return count;
+    }
+}
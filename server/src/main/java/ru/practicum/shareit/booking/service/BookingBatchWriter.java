@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.service.ChangeJournal;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates a batch of bookings in one transaction: users and items are read with one
+ * query each and the bookings are written with one JDBC batch insert. Commands that
+ * fail validation are completed with their error right away, the others are returned
+ * and completed by the caller once the transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingBatchWriter {
+    private static final String INSERT_BOOKING = "INSERT INTO booking (start_date, end_date, item_id, booker_id, " +
+            "owner_id, status, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeJournal changeJournal;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Map<BookingCommand, BookingDto> write(List<BookingCommand> commands) {
+        Map<Long, User> users = userRepository.findAllById(collectIds(commands, BookingCommand::getUserId)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Item> items = itemRepository.findAllById(collectIds(commands,
+                        command -> command.getBookingBriefDto().getItemId())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<BookingCommand> accepted = new ArrayList<>(commands.size());
+        List<Booking> bookings = new ArrayList<>(commands.size());
+        for (BookingCommand command : commands) {
+            try {
+                bookings.add(toNewBooking(command, users, items));
+                accepted.add(command);
+            } catch (ObjectNotFoundException | BadRequestException e) {
+                command.getResult().completeExceptionally(e);
+            }
+        }
+        insert(bookings);
+
+        Map<BookingCommand, BookingDto> created = new IdentityHashMap<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Booking booking = bookings.get(i);
+            BookingSavedEvent event = BookingMapper.toBookingSavedEvent(booking);
+            changeJournal.record(ChangeEntity.BOOKING, booking.getId(), ChangeOperation.CREATE, event);
+            eventPublisher.publishEvent(event);
+            created.put(accepted.get(i), BookingMapper.toBookingDto(booking));
+        }
+        return created;
+    }
+
+    private static Booking toNewBooking(BookingCommand command, Map<Long, User> users, Map<Long, Item> items) {
+        Long userId = command.getUserId();
+        Long itemId = command.getBookingBriefDto().getItemId();
+        User user = users.get(userId);
+        if (user == null) {
+            throw new ObjectNotFoundException("user with id:" + userId + " not found error");
+        }
+        Item item = items.get(itemId);
+        if (item == null) {
+            throw new ObjectNotFoundException("item with id:" + itemId + " not found error");
+        }
+        return BookingServiceImpl.toNewBooking(command.getBookingBriefDto(), userId, user, item);
+    }
+
+    private void insert(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_BOOKING, new String[]{"id"})) {
+                for (Booking booking : bookings) {
+                    statement.setTimestamp(1, Timestamp.valueOf(booking.getStart()));
+                    statement.setTimestamp(2, Timestamp.valueOf(booking.getEnd()));
+                    statement.setLong(3, booking.getItem().getId());
+                    statement.setLong(4, booking.getBooker().getId());
+                    statement.setLong(5, booking.getOwnerId());
+                    statement.setString(6, booking.getStatus().name());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Booking booking : bookings) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("no generated id for booking batch of " + bookings.size());
+                        }
+                        booking.setId(keys.getLong(1));
+                        booking.setVersion(0L);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private static Set<Long> collectIds(List<BookingCommand> commands, Function<BookingCommand, Long> id) {
+        return commands.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+@RequiredArgsConstructor
+public class BookingCommand {
+    private final BookingBriefDto bookingBriefDto;
+    private final Long userId;
+    private final CompletableFuture<BookingDto> result = new CompletableFuture<>();
+}
@@ -0,0 +1,222 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Group commit for booking creation. When enabled, create requests are queued and a
+ * single writer thread commits them in batches of up to max-batch-size commands, waiting
+ * at most max-delay after the first queued command for more to arrive. Each caller still
+ * gets its own booking or error, and gives up after the timeout; a command that timed out
+ * before its batch was written is skipped. When disabled, every request is its own transaction.
+ */
+@Slf4j
+@Component
+public class BookingCreationPipeline {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BookingService bookingService;
+    private final BookingBatchWriter batchWriter;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final Duration timeout;
+    private final BlockingQueue<BookingCommand> queue;
+    // submitters share the lock to queue while running; stopping takes it exclusively
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private final DistributionSummary batchSizes;
+    private volatile boolean running;
+    private Thread writer;
+
+    public BookingCreationPipeline(BookingService bookingService,
+                                   BookingBatchWriter batchWriter,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${shareit.booking.pipeline.enabled:false}") boolean enabled,
+                                   @Value("${shareit.booking.pipeline.max-batch-size:64}") int maxBatchSize,
+                                   @Value("${shareit.booking.pipeline.max-delay:2ms}") Duration maxDelay,
+                                   @Value("${shareit.booking.pipeline.timeout:5s}") Duration timeout,
+                                   @Value("${shareit.booking.pipeline.queue-capacity:10000}") int queueCapacity) {
+        this.bookingService = bookingService;
+        this.batchWriter = batchWriter;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.timeout = timeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("booking.create.pipeline.batch.size")
+                .description("Bookings committed per create transaction")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "booking-create-pipeline");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops taking new commands and commits the ones already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        setStopped();
+        if (writer != null) {
+            writer.join();
+        }
+    }
+
+    public BookingDto create(BookingBriefDto bookingBriefDto, Long userId) {
+        if (!enabled) {
+            return bookingService.create(bookingBriefDto, userId);
+        }
+        try {
+            return submit(bookingBriefDto, userId)
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new IllegalStateException("booking was not created within " + timeout, e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<BookingDto> submit(BookingBriefDto bookingBriefDto, Long userId) {
+        BookingCommand command = new BookingCommand(bookingBriefDto, userId);
+        runningLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("booking create pipeline is not running");
+            }
+            if (!queue.offer(command, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("booking create pipeline queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while queueing booking", e);
+        } finally {
+            runningLock.readLock().unlock();
+        }
+        return command.getResult();
+    }
+
+    /**
+     * Once stopped, nothing is queued any more, so the writer exits as soon as the queue is empty.
+     */
+    private void setStopped() {
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+    }
+
+    private void run() {
+        List<BookingCommand> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    BookingCommand first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    fill(batch, System.nanoTime() + maxDelay.toNanos());
+                } catch (InterruptedException e) {
+                    log.warn("booking create pipeline interrupted, committing {} queued bookings", queue.size());
+                    setStopped();
+                    queue.drainTo(batch);
+                }
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            log.error("booking create pipeline writer failed", e);
+            throw e;
+        } finally {
+            setStopped();
+            queue.drainTo(batch);
+            IllegalStateException stopped = new IllegalStateException("booking create pipeline stopped");
+            batch.forEach(command -> command.getResult().completeExceptionally(stopped));
+        }
+    }
+
+    private void fill(List<BookingCommand> batch, long deadline) throws InterruptedException {
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long wait = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || wait <= 0) {
+                return;
+            }
+            BookingCommand next = queue.poll(wait, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * A batch that can't be committed as a whole, for example because one booking breaks
+     * a constraint, is retried one command per transaction so the others still succeed.
+     */
+    private void flush(List<BookingCommand> batch) {
+        batch.removeIf(command -> command.getResult().isDone());
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Map<BookingCommand, BookingDto> created = batchWriter.write(batch);
+            batchSizes.record(created.size());
+            created.forEach((command, booking) -> command.getResult().complete(booking));
+        } catch (RuntimeException e) {
+            log.warn("booking batch of {} failed, creating one by one", batch.size(), e);
+            for (BookingCommand command : batch) {
+                if (!command.getResult().isDone()) {
+                    createOne(command);
+                }
+            }
+        }
+    }
+
+    private void createOne(BookingCommand command) {
+        try {
+            BookingDto booking = bookingService.create(command.getBookingBriefDto(), command.getUserId());
+            batchSizes.record(1);
+            command.getResult().complete(booking);
+        } catch (RuntimeException e) {
+            command.getResult().completeExceptionally(e);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingBriefDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
 
 public class BookingMapper {
     public static BookingDto toBookingDto(Booking booking) {
@@ -16,6 +19,17 @@ public class BookingMapper {
         return result;
     }
 
+    public static BookingDto toBookingDto(ArchivedBooking booking, Item item, User booker) {
+        BookingDto result = new BookingDto();
+        result.setId(booking.getId());
+        result.setStart(booking.getStart());
+        result.setEnd(booking.getEnd());
+        result.setStatus(booking.getStatus());
+        result.setBooker(booker);
+        result.setItem(item);
+        return result;
+    }
+
     public static BookingBriefDto toBookingBriefDto(Booking booking) {
         BookingBriefDto result = new BookingBriefDto();
         result.setId(booking.getId());
@@ -26,6 +40,11 @@ public class BookingMapper {
         return result;
     }
 
+    public static BookingSavedEvent toBookingSavedEvent(Booking booking) {
+        return new BookingSavedEvent(booking.getId(), booking.getItem().getId(), booking.getOwnerId(),
+                booking.getBooker().getId(), booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+
     public static Booking toBooking(BookingBriefDto bookingBriefDto) {
         Booking result = new Booking();
         result.setStart(bookingBriefDto.getStart());
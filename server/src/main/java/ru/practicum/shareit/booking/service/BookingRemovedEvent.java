@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookingRemovedEvent {
+    private final Long bookingId;
+    private final Long itemId;
+}
@@ -1,33 +1,57 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.BookingArchive;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingBriefDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingSpecifications;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.service.ChangeJournal;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    /**
+     * Rows a PAST listing over the table and the archive reads at most: both sources are read from the
+     * newest booking down to the end of the page, so deeper pages are rejected.
+     */
+    public static final int PAST_WITH_ARCHIVE_MAX_DEPTH = 1000;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final BookingArchive bookingArchive;
+    private final ChangeJournal changeJournal;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final Sort sort = Sort.by(Sort.Direction.DESC, "start");
 
@@ -38,7 +62,17 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new ObjectNotFoundException("user with id:" + userId + " not found error"));
         Item item = itemRepository.findById(bookingBriefDto.getItemId())
                 .orElseThrow(() -> new ObjectNotFoundException("item with id:" + bookingBriefDto.getItemId() + " not found error"));
+        Booking booking = toNewBooking(bookingBriefDto, userId, user, item);
+
+        bookingRepository.save(booking);
+        BookingSavedEvent event = BookingMapper.toBookingSavedEvent(booking);
+        changeJournal.record(ChangeEntity.BOOKING, booking.getId(), ChangeOperation.CREATE, event);
+        eventPublisher.publishEvent(event);
 
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    static Booking toNewBooking(BookingBriefDto bookingBriefDto, Long userId, User user, Item item) {
         if (item.getOwner().getId().equals(userId)) {
             throw new ObjectNotFoundException("user:" + userId + " can't book it's own item");
         }
@@ -51,11 +85,9 @@ public class BookingServiceImpl implements BookingService {
         }
         booking.setBooker(user);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setStatus(BookingStatus.WAITING);
-
-        bookingRepository.save(booking);
-
-        return BookingMapper.toBookingDto(booking);
+        return booking;
     }
 
     @Transactional
@@ -63,18 +95,28 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto approve(Long bookingId, Long userId, Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ObjectNotFoundException("Booking with id:" + bookingId + " not found"));
-        if (!userId.equals(booking.getItem().getOwner().getId())) {
+        if (!userId.equals(booking.getOwnerId())) {
             throw new ObjectNotFoundException("user id:" + userId + " is not an owner of item:" + booking.getItem().getId());
         }
         if (!booking.getStatus().equals(BookingStatus.WAITING)) {
             throw new BadRequestException("Booking is already approved or rejected");
         }
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (bookingRepository.updateStatusIfWaiting(bookingId, status) == 0) {
+            throw new BadRequestException("Booking is already approved or rejected");
         }
-        bookingRepository.save(booking);
+        booking.setStatus(status);
+        if (status == BookingStatus.APPROVED) {
+            itemBookingSummaryService.onApproved(BookingMapper.toBookingBriefDto(booking), LocalDateTime.now());
+            // the summary row lock serializes approvals of the item, so the check cannot race
+            if (bookingRepository.existsApprovedOverlap(booking.getItem().getId(), bookingId,
+                    booking.getStart(), booking.getEnd())) {
+                throw new BookingOverlapException("booking overlaps an approved booking of the same item");
+            }
+        }
+        BookingSavedEvent event = BookingMapper.toBookingSavedEvent(booking);
+        changeJournal.record(ChangeEntity.BOOKING, booking.getId(), ChangeOperation.UPDATE, event);
+        eventPublisher.publishEvent(event);
 
         return BookingMapper.toBookingDto(booking);
     }
@@ -84,40 +126,16 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingDto> getAllByOwner(Long userId, BookingState state, int from, int size) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("user with id:" + userId + " not found error"));
-        List<Booking> bookingsList = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        Specification<Booking> specification = BookingSpecifications.ofOwner(user.getId(), state, now);
         PageRequest pageRequest = PageRequest.of(from / size, size, sort);
-        switch (state) {
-            case ALL:
-                bookingsList.addAll(bookingRepository.findAllByItemOwner(user, pageRequest).toList());
-                break;
-
-            case FUTURE:
-                bookingsList.addAll(bookingRepository.findAllByItemOwnerAndStartAfter(user, LocalDateTime.now(), pageRequest).toList());
-                break;
-
-            case CURRENT:
-                bookingsList.addAll(bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfter(user,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest).toList());
-                break;
-
-            case PAST:
-                bookingsList.addAll(bookingRepository.findAllByItemOwnerAndEndBefore(user,
-                        LocalDateTime.now(), pageRequest).toList());
-                break;
-
-            case WAITING:
-                bookingsList.addAll(bookingRepository.findAllByItemOwnerAndStatusEquals(user, BookingStatus.WAITING, pageRequest).toList());
-                break;
-
-            case REJECTED:
-                bookingsList.addAll(bookingRepository.findAllByItemOwnerAndStatusEquals(user, BookingStatus.REJECTED, pageRequest).toList());
-                break;
-
-            default:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        if (state == BookingState.PAST && bookingArchive.isEnabled()) {
+            return pastWithArchive(specification, limit -> bookingArchive.findByOwnerId(user.getId(), limit),
+                    pageRequest);
         }
-
-        return bookingsList.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        return bookingRepository.findSlice(specification, pageRequest).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
@@ -126,51 +144,85 @@ public class BookingServiceImpl implements BookingService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("Невозможно найти бронирования - " +
                         "не найден пользователь с id " + userId));
-        List<Booking> bookingDtoList = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        Specification<Booking> specification = BookingSpecifications.ofBooker(user.getId(), state, now);
         PageRequest pageRequest = PageRequest.of(from / size, size, sort);
-        switch (state) {
-            case ALL:
-                bookingDtoList.addAll(bookingRepository.findAllByBooker(user, pageRequest).toList());
-                break;
-
-            case REJECTED:
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndStatusEquals(user, BookingStatus.REJECTED, pageRequest).toList());
-                break;
-
-            case CURRENT:
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndStartBeforeAndEndAfter(user,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest).toList());
-                break;
-
-            case PAST:
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndEndBefore(user,
-                        LocalDateTime.now(), pageRequest).toList());
-                break;
-
-            case WAITING:
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndStatusEquals(user, BookingStatus.WAITING, pageRequest).toList());
-                break;
-
-            case FUTURE:
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndStartAfter(user, LocalDateTime.now(), pageRequest).toList());
-                break;
-
-            default:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        if (state == BookingState.PAST && bookingArchive.isEnabled()) {
+            return pastWithArchive(specification, limit -> bookingArchive.findByBookerId(user.getId(), limit),
+                    pageRequest);
         }
+        return bookingRepository.findSlice(specification, pageRequest).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
 
-        return bookingDtoList.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    /**
+     * PAST page over the booking table and the archive. Both are read newest first up to the end of the
+     * page and merged by start; the archive is read only when the table runs out of bookings newer than
+     * anything archived before the page is filled.
+     */
+    private List<BookingDto> pastWithArchive(Specification<Booking> table,
+                                             IntFunction<List<ArchivedBooking>> archive, PageRequest page) {
+        int needed = (int) page.getOffset() + page.getPageSize();
+        if (needed > PAST_WITH_ARCHIVE_MAX_DEPTH) {
+            throw new BadRequestException("past bookings are listed " + PAST_WITH_ARCHIVE_MAX_DEPTH
+                    + " deep at most");
+        }
+        List<Booking> hot = bookingRepository.findSlice(table, PageRequest.of(0, needed, sort)).getContent();
+        Map<Long, BookingDto> merged = new LinkedHashMap<>();
+        hot.forEach(booking -> merged.put(booking.getId(), BookingMapper.toBookingDto(booking)));
+        LocalDateTime archivedBefore = bookingArchive.getArchivedBefore();
+        boolean tableFillsPage = hot.size() >= needed
+                && (archivedBefore == null || !hot.get(needed - 1).getStart().isBefore(archivedBefore));
+        if (!tableFillsPage) {
+            List<ArchivedBooking> archived = archive.apply(needed);
+            Map<Long, Item> items = itemRepository.findAllById(archived.stream()
+                            .map(ArchivedBooking::getItemId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            Map<Long, User> bookers = userRepository.findAllById(archived.stream()
+                            .map(ArchivedBooking::getBookerId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            for (ArchivedBooking booking : archived) {
+                Item item = items.get(booking.getItemId());
+                User booker = bookers.get(booking.getBookerId());
+                // the archive keeps bookings whose item or booker was deleted later; the table would have lost them
+                if (item != null && booker != null) {
+                    merged.putIfAbsent(booking.getId(), BookingMapper.toBookingDto(booking, item, booker));
+                }
+            }
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparing(BookingDto::getStart).reversed())
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .collect(Collectors.toList());
     }
 
+    /**
+     * Falls back to the archive for bookings the table no longer holds; an archived booking whose item or
+     * booker has been deleted since is not found.
+     */
     @Transactional(readOnly = true)
     @Override
     public BookingDto getById(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ObjectNotFoundException("No booking with id:" + bookingId));
-        if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getItem().getOwner().getId())) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null) {
+            return getArchived(bookingId, userId);
+        }
+        if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getOwnerId())) {
             throw new ObjectNotFoundException("access denied");
         }
 
         return BookingMapper.toBookingDto(booking);
     }
+
+    private BookingDto getArchived(Long bookingId, Long userId) {
+        ArchivedBooking booking = bookingArchive.findById(bookingId, userId)
+                .orElseThrow(() -> new ObjectNotFoundException("No booking with id:" + bookingId));
+        Item item = itemRepository.findById(booking.getItemId())
+                .orElseThrow(() -> new ObjectNotFoundException("No booking with id:" + bookingId));
+        User booker = userRepository.findById(booking.getBookerId())
+                .orElseThrow(() -> new ObjectNotFoundException("No booking with id:" + bookingId));
+        return BookingMapper.toBookingDto(booking, item, booker);
+    }
 }
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a transactional call that lost a race with a concurrent transaction: an
+ * optimistic lock conflict, a deadlock or a lock timeout. Each attempt must start its
+ * own transaction, so the call has to go through the service proxy.
+ */
+@Slf4j
+@Component
+public class ConcurrencyRetry {
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public ConcurrencyRetry(@Value("${shareit.booking.retry.max-attempts:3}") int maxAttempts,
+                            @Value("${shareit.booking.retry.backoff:20ms}") Duration backoff) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    public <T> T run(Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("concurrent update conflict, attempt {} of {}: {}", attempt, maxAttempts, e.getMessage());
+                sleep(backoff.multipliedBy(attempt));
+            }
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -1,44 +1,134 @@
 package ru.practicum.shareit.booking.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findAllByBooker(User booker, Pageable pageable);
-
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSliceRepository {
     List<Booking> findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(Long bookerId, Long itemId,
                                                                           BookingStatus status, LocalDateTime end);
 
-    Page<Booking> findAllByBookerAndStartBeforeAndEndAfter(User booker, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByBookerAndEndBefore(User booker, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByBookerAndStartAfter(User booker, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findAllByBookerAndStatusEquals(User booker, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findAllByItemOwner(User owner,  Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerAndStartBeforeAndEndAfter(User owner, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerAndEndBefore(User owner, LocalDateTime end,  Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerAndStartAfter(User owner, LocalDateTime start,  Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerAndStatusEquals(User owner, BookingStatus status,  Pageable pageable);
-
-    List<Booking> findTop1BookingByItemIdAndEndIsBeforeAndStatusIs(
-            Long itemId, LocalDateTime end, BookingStatus status, Sort sort);
-
-    List<Booking> findTop1BookingByItemIdAndEndIsAfterAndStatusIs(
-            Long itemId, LocalDateTime end, BookingStatus status, Sort sort);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingBriefDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b where b.item.id in :itemIds and b.status = :status and b.end = " +
+            "(select max(b2.end) from Booking b2 where b2.item = b.item and b2.status = :status and b2.end < :now)")
+    List<BookingBriefDto> findLastBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                    @Param("now") LocalDateTime now,
+                                                    @Param("status") BookingStatus status);
+
+    @Query("select b.id as id, b.item.id as itemId, b.start as start, b.end as end from Booking b " +
+            "where b.status = :status and b.id > :afterId order by b.id")
+    List<BookingPeriodView> findPeriodsByStatusAfter(@Param("status") BookingStatus status,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Query("select b.id as id, b.item.id as itemId, b.start as start, b.end as end from Booking b " +
+            "where b.item.id = :itemId and b.status = :status")
+    List<BookingPeriodView> findPeriodsByItemIdAndStatus(@Param("itemId") Long itemId,
+                                                         @Param("status") BookingStatus status);
+
+    @Query("select b.id as id, b.item.id as itemId, b.start as start, b.end as end from Booking b " +
+            "where b.id in :ids")
+    List<BookingPeriodView> findPeriodsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingBriefDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b where b.status = :status and b.end > :end and b.id > :afterId order by b.id")
+    List<BookingBriefDto> findBriefByStatusAndEndAfter(@Param("status") BookingStatus status,
+                                                       @Param("end") LocalDateTime end,
+                                                       @Param("afterId") Long afterId,
+                                                       Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingBriefDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b where b.item.id = :itemId and b.status = :status and b.end > :now order by b.end")
+    List<BookingBriefDto> findBriefByItemIdAndStatusAndEndAfter(@Param("itemId") Long itemId,
+                                                                @Param("status") BookingStatus status,
+                                                                @Param("now") LocalDateTime now,
+                                                                Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :bookingId and b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING")
+    int updateStatusIfWaiting(@Param("bookingId") Long bookingId, @Param("status") BookingStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :to, b.version = b.version + 1 where b.id in :ids and b.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") BookingStatus from,
+                     @Param("to") BookingStatus to);
+
+    @Query("select b.id from Booking b where b.status = :status and b.start < :before order by b.start, b.id")
+    List<Long> findIdsByStatusAndStartBefore(@Param("status") BookingStatus status,
+                                             @Param("before") LocalDateTime before,
+                                             Pageable pageable);
+
+    @Query("select b from Booking b join fetch b.item i join fetch i.owner join fetch b.booker " +
+            "where b.id in :ids and b.status = :status")
+    List<Booking> findAllWithItemByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                                 @Param("status") BookingStatus status);
+
+    @Query("select count(b) > 0 from Booking b where b.item.id = :itemId " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.id <> :bookingId and b.start < :end and b.end > :start")
+    boolean existsApprovedOverlap(@Param("itemId") Long itemId, @Param("bookingId") Long bookingId,
+                                  @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Finished bookings that ended before the given time, oldest end first along ix_booking_end. Kept hot
+     * are an item's last booking and, per booker and item, the approved booking that ended last, so the
+     * booker can still comment on the item. The start bound follows from start < end and lets PostgreSQL
+     * prune to the old partitions.
+     */
+    @Query("select new ru.practicum.shareit.booking.archive.ArchivedBooking(b.id, b.start, b.end, b.item.id, " +
+            "b.booker.id, b.ownerId, b.status) from Booking b where b.end < :before and b.start < :before " +
+            "and b.status <> ru.practicum.shareit.booking.model.BookingStatus.WAITING and not exists " +
+            "(select s.itemId from ItemBookingSummary s where s.lastBookingId = b.id) " +
+            "and (b.status <> ru.practicum.shareit.booking.model.BookingStatus.APPROVED or exists " +
+            "(select b2.id from Booking b2 where b2.booker = b.booker and b2.item = b.item " +
+            "and b2.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b2.end < current_timestamp and (b2.end > b.end or (b2.end = b.end and b2.id > b.id)))) " +
+            "order by b.end, b.id")
+    List<ArchivedBooking> findArchivable(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Booking b where b.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.id, b.start, b.end, b.status) " +
+            "from Booking b where b.item.id = :itemId and b.status in :statuses")
+    List<BookingIntervalDto> findIntervalsByItemIdAndStatusIn(@Param("itemId") Long itemId,
+                                                             @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("select b.id from Booking b where b.booker.id = :userId")
+    List<Long> findIdsByBookerId(@Param("userId") Long userId);
+
+    @Query("select b.id from Booking b where b.ownerId = :userId")
+    List<Long> findIdsByOwnerId(@Param("userId") Long userId);
+
+    @Query("select b.id from ItemRequest r, Item i, Booking b " +
+            "where r.requestor.id = :userId and i.request = r and b.item = i")
+    List<Long> findIdsByItemRequestorId(@Param("userId") Long userId);
+
+    /**
+     * Bookings removed by cascade together with the user. Each branch of the union is a separate
+     * index lookup: a single query with ORed conditions over three tables can only be served by a scan.
+     */
+    default List<Long> findIdsRemovedWithUser(Long userId) {
+        Set<Long> ids = new LinkedHashSet<>(findIdsByBookerId(userId));
+        ids.addAll(findIdsByOwnerId(userId));
+        ids.addAll(findIdsByItemRequestorId(userId));
+        return new ArrayList<>(ids);
+    }
 }
-
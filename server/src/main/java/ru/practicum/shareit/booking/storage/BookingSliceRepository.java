@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+
+public interface BookingSliceRepository {
+    /**
+     * Loads one page of bookings matching the specification together with their item, owner and booker
+     * in a single statement. No count query is issued: one extra row is read to tell whether a next page exists.
+     */
+    Slice<Booking> findSlice(Specification<Booking> specification, Pageable pageable);
+}
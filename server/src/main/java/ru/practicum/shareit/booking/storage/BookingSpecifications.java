@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingState;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking listing filters: the actor's column plus the state condition evaluated against one
+ * moment, so every state of a listing is a single statement.
+ */
+public final class BookingSpecifications {
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> ofOwner(Long ownerId, BookingState state, LocalDateTime now) {
+        return Specification.<Booking>where((root, query, builder) -> builder.equal(root.get("ownerId"), ownerId))
+                .and(inState(state, now));
+    }
+
+    public static Specification<Booking> ofBooker(Long bookerId, BookingState state, LocalDateTime now) {
+        return Specification.<Booking>where((root, query, builder) ->
+                        builder.equal(root.get("booker").get("id"), bookerId))
+                .and(inState(state, now));
+    }
+
+    /**
+     * PAST also bounds the start, which holds since start precedes end, so that it prunes
+     * booking partitions like the other time-based states.
+     */
+    private static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return (root, query, builder) -> null;
+            case FUTURE:
+                return (root, query, builder) -> builder.greaterThan(root.get("start"), now);
+            case CURRENT:
+                return (root, query, builder) -> builder.and(builder.lessThan(root.get("start"), now),
+                        builder.greaterThan(root.get("end"), now));
+            case PAST:
+                return (root, query, builder) -> builder.and(builder.lessThan(root.get("start"), now),
+                        builder.lessThan(root.get("end"), now));
+            case WAITING:
+                return (root, query, builder) -> builder.equal(root.get("status"), BookingStatus.WAITING);
+            case REJECTED:
+                return (root, query, builder) -> builder.equal(root.get("status"), BookingStatus.REJECTED);
+            default:
+                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+}
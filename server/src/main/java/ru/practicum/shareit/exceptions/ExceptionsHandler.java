@@ -1,7 +1,10 @@
 package ru.practicum.shareit.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -9,6 +12,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @Slf4j
 @RestControllerAdvice
 public class ExceptionsHandler {
+    private static final String EXCLUSION_VIOLATION = "23P01";
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
@@ -39,6 +43,15 @@ public class ExceptionsHandler {
         );
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse bookingOverlapException(final BookingOverlapException e) {
+        log.error(e.getMessage());
+        return new ErrorResponse(
+                String.format(e.getMessage())
+        );
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ErrorResponse wrongUserException(final WrongUserException e) {
@@ -56,4 +69,16 @@ public class ExceptionsHandler {
                 String.format(e.getMessage())
         );
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> dataIntegrityViolationException(final DataIntegrityViolationException e) {
+        log.error(e.getMessage());
+        if (e.getCause() instanceof ConstraintViolationException
+                && EXCLUSION_VIOLATION.equals(((ConstraintViolationException) e.getCause()).getSQLState())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("booking overlaps an approved booking of the same item"));
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(e.getMessage()));
+    }
+}
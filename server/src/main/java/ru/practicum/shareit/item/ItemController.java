@@ -1,22 +1,30 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.item.service.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
+    static final String SEARCH_ENGINE_HEADER = "X-Search-Engine";
+
     private final ItemService itemService;
     private final String userHeaderId = "X-Sharer-User-Id";
 
+    @Value("${shareit.search.engine:sql}")
+    private String searchEngine;
+
     @PostMapping
     public ItemDto create(@RequestBody ItemDto itemDto,
                           @RequestHeader(userHeaderId) Long userId) {
@@ -46,9 +54,43 @@ public class ItemController {
     @GetMapping("/search")
     public List<ItemDto> findByRequest(@RequestParam String text,
                                        @RequestParam(defaultValue = "0") int from,
-                                       @RequestParam(defaultValue = "10") int size) {
-        List<Item> foundItems = itemService.findByRequest(text, from, size);
-        return ItemMapper.toItemDtoList(foundItems);
+                                       @RequestParam(defaultValue = "10") int size,
+                                       @RequestParam(defaultValue = "false") boolean fuzzy,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        if (fuzzy) {
+            return itemService.findFuzzyByRequest(text, from, size);
+        }
+        if (start != null || end != null) {
+            return itemService.findFreeByRequest(text, from, size,
+                    start != null ? start : end, end != null ? end : start);
+        }
+        return itemService.findByRequest(text, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam String prefix,
+                                @RequestParam(defaultValue = "10") int size) {
+        return itemService.suggest(prefix, size);
+    }
+
+    @GetMapping("/{itemId}/calendar")
+    public List<BookingIntervalDto> getCalendar(@PathVariable Long itemId,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return itemService.getCalendar(itemId, from, to);
+    }
+
+    /**
+     * Catalog page for copies of the item catalog; the header names the search engine, whose
+     * paging a copy has to reproduce.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<List<ItemDto>> findChanged(@RequestParam(defaultValue = "0") Long afterId,
+                                                     @RequestParam(defaultValue = "1000") int size) {
+        return ResponseEntity.ok()
+                .header(SEARCH_ENGINE_HEADER, searchEngine)
+                .body(itemService.findChanged(afterId, size));
     }
 
     @PostMapping("/{itemId}/comment")
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.item.service.ItemRemovedEvent;
+import ru.practicum.shareit.item.service.ItemSavedEvent;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * Typo-tolerant item search over an in-memory trigram index, built on startup; only
+ * created when shareit.search.fuzzy.enabled is set.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.fuzzy.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FuzzyItemSearch {
+    private final ItemRepository itemRepository;
+    private final FuzzyItemSearchIndex index = new FuzzyItemSearchIndex();
+
+    @PostConstruct
+    public void build() {
+        itemRepository.forEachSearchView(item -> index.put(ItemMapper.toItemDto(item)));
+        log.info("fuzzy item search index built, {} available items", index.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index.put(event.getItem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRemoved(ItemRemovedEvent event) {
+        index.remove(event.getItemId());
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        return index.search(text, from, size);
+    }
+}
@@ -0,0 +1,208 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Trigram index over the words of available items. A query word matches an indexed
+ * word within a bounded Levenshtein distance that grows with the query word length.
+ */
+public class FuzzyItemSearchIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongPostingList> wordItems = new HashMap<>();
+    private final Map<String, Set<String>> trigramWords = new HashMap<>();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+
+    public void put(ItemDto item) {
+        lock.writeLock().lock();
+        try {
+            removeIndexed(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                IndexedItem indexed = new IndexedItem(item);
+                items.put(item.getId(), indexed);
+                for (String word : indexed.words) {
+                    LongPostingList list = wordItems.get(word);
+                    if (list == null) {
+                        list = new LongPostingList();
+                        wordItems.put(word, list);
+                        for (String trigram : trigrams(word)) {
+                            trigramWords.computeIfAbsent(trigram, k -> new HashSet<>()).add(word);
+                        }
+                    }
+                    list.add(item.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeIndexed(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        List<String> words = ItemSearchTokenizer.tokenize(text);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> distances = null;
+            for (String word : words) {
+                Map<Long, Integer> matches = matchItems(word);
+                if (distances == null) {
+                    distances = matches;
+                } else {
+                    Map<Long, Integer> combined = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : distances.entrySet()) {
+                        Integer distance = matches.get(entry.getKey());
+                        if (distance != null) {
+                            combined.put(entry.getKey(), entry.getValue() + distance);
+                        }
+                    }
+                    distances = combined;
+                }
+                if (distances.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            return distances.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .skip((long) from * size)
+                    .limit(size)
+                    .map(entry -> ItemMapper.copyItemDto(items.get(entry.getKey()).item))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int maxDistance(String word) {
+        if (word.length() <= 3) {
+            return 0;
+        }
+        return word.length() <= 6 ? 1 : 2;
+    }
+
+    static int distance(String first, String second, int limit) {
+        if (Math.abs(first.length() - second.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    private Map<Long, Integer> matchItems(String word) {
+        int limit = maxDistance(word);
+        List<String> queryTrigrams = trigrams(word);
+        int minShared = Math.max(1, queryTrigrams.size() - 3 * limit);
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (String candidate : trigramWords.getOrDefault(trigram, Set.of())) {
+                shared.merge(candidate, 1, Integer::sum);
+            }
+        }
+
+        Map<Long, Integer> result = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            if (entry.getValue() < minShared) {
+                continue;
+            }
+            int distance = distance(word, entry.getKey(), limit);
+            if (distance > limit) {
+                continue;
+            }
+            for (long itemId : wordItems.get(entry.getKey()).toArray()) {
+                result.merge(itemId, distance, Math::min);
+            }
+        }
+        return result;
+    }
+
+    private void removeIndexed(Long itemId) {
+        IndexedItem indexed = items.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        for (String word : indexed.words) {
+            LongPostingList list = wordItems.get(word);
+            if (list != null && list.remove(itemId) && list.isEmpty()) {
+                wordItems.remove(word);
+                for (String trigram : trigrams(word)) {
+                    Set<String> trigramSet = trigramWords.get(trigram);
+                    trigramSet.remove(word);
+                    if (trigramSet.isEmpty()) {
+                        trigramWords.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<String> trigrams(String word) {
+        String padded = "$" + word + "$";
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result.stream().distinct().collect(Collectors.toList());
+    }
+
+    private static class IndexedItem {
+        private final ItemDto item;
+        private final Set<String> words = new HashSet<>();
+
+        IndexedItem(ItemDto item) {
+            this.item = item;
+            words.addAll(ItemSearchTokenizer.tokenize(item.getName()));
+            words.addAll(ItemSearchTokenizer.tokenize(item.getDescription()));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.item.service.ItemRemovedEvent;
+import ru.practicum.shareit.item.service.ItemSavedEvent;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.service.ChangeJournal;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class IndexItemSearchEngine implements ItemSearchEngine {
+    private static final Duration REPLAY_OVERLAP = Duration.ofMinutes(1);
+
+    private final ItemRepository itemRepository;
+    private final ChangeJournal changeJournal;
+    private volatile ItemSearchIndex index = new ItemSearchIndex();
+
+    @Value("${shareit.search.index.snapshot-path:}")
+    private String snapshotPath;
+
+    @PostConstruct
+    public void build() {
+        ItemSearchIndexSnapshot snapshot = readSnapshot();
+        if (snapshot != null) {
+            ItemSearchIndex restored = snapshot.getIndex();
+            LocalDateTime since = snapshot.getTakenAt().minus(REPLAY_OVERLAP);
+            itemRepository.forEachSearchView(since, item -> restored.put(ItemMapper.toItemDto(item)));
+            // deleted rows leave no updated_at behind, the journal keeps their deletion
+            changeJournal.findDeleted(ChangeEntity.ITEM, since).forEach(restored::remove);
+            restored.compact();
+            index = restored;
+            log.info("item search index restored from snapshot taken at {}, {} available items",
+                    snapshot.getTakenAt(), index.size());
+            return;
+        }
+
+        ItemSearchIndex built = new ItemSearchIndex();
+        itemRepository.forEachSearchView(item -> built.put(ItemMapper.toItemDto(item)));
+        built.compact();
+        index = built;
+        log.info("item search index built, {} available items, {} bytes of postings off-heap",
+                index.size(), index.offHeapBytes());
+    }
+
+    @PreDestroy
+    @Scheduled(initialDelayString = "${shareit.search.index.snapshot-interval:PT10M}",
+            fixedDelayString = "${shareit.search.index.snapshot-interval:PT10M}")
+    public void writeSnapshot() {
+        if (snapshotPath.isBlank()) {
+            return;
+        }
+        try {
+            new ItemSearchIndexSnapshot(index, LocalDateTime.now()).write(Path.of(snapshotPath));
+            log.info("item search index snapshot written to {}", snapshotPath);
+        } catch (IOException e) {
+            log.warn("item search index snapshot {} can't be written", snapshotPath, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index.put(event.getItem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRemoved(ItemRemovedEvent event) {
+        index.remove(event.getItemId());
+    }
+
+    @Override
+    public List<ItemDto> search(String text, int from, int size) {
+        List<Long> ids = index.search(text, from, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // the index keeps only the text, the page is read back in its order
+        Map<Long, ItemSearchView> views = itemRepository.findSearchViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemSearchView::getId, Function.identity()));
+        return ids.stream()
+                .map(views::get)
+                .filter(view -> view != null && Boolean.TRUE.equals(view.getAvailable()))
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    private ItemSearchIndexSnapshot readSnapshot() {
+        if (snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return null;
+        }
+        try {
+            return ItemSearchIndexSnapshot.read(Path.of(snapshotPath));
+        } catch (IOException | RuntimeException e) {
+            log.warn("item search index snapshot {} can't be read, rebuilding", snapshotPath, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemRemovedEvent;
+import ru.practicum.shareit.item.service.ItemSavedEvent;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameSuggester {
+    private final ItemRepository itemRepository;
+    private final ItemNameTrie trie = new ItemNameTrie();
+
+    @PostConstruct
+    public void build() {
+        itemRepository.forEachSearchView(item -> trie.put(item.getId(), item.getName(), Boolean.TRUE.equals(item.getAvailable())));
+        log.info("item name suggester built");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        ItemDto item = event.getItem();
+        trie.put(item.getId(), item.getName(), Boolean.TRUE.equals(item.getAvailable()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRemoved(ItemRemovedEvent event) {
+        trie.remove(event.getItemId());
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        return trie.suggest(prefix, size);
+    }
+}
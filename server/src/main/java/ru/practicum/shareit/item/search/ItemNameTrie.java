@@ -0,0 +1,179 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie of lower-cased item names. A name's weight is the number of available items
+ * carrying it, every node keeps the highest weight of its subtree, so the top names
+ * for a prefix are collected best-first without visiting the whole subtree.
+ */
+public class ItemNameTrie {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Long, String> itemNames = new HashMap<>();
+
+    public void put(Long itemId, String name, boolean available) {
+        lock.writeLock().lock();
+        try {
+            removeName(itemId);
+            if (available) {
+                itemNames.put(itemId, name);
+                update(name.toLowerCase(), name, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the item's name; the name stays suggested while other available items carry it.
+     */
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeName(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        String key = prefix.toLowerCase();
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null || node.maxWeight == 0) {
+                return result;
+            }
+
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator
+                    .comparingInt((Candidate candidate) -> candidate.weight).reversed()
+                    .thenComparing(candidate -> candidate.path));
+            queue.add(new Candidate(node, key, node.maxWeight, false));
+            while (!queue.isEmpty() && result.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.terminal) {
+                    result.add(candidate.node.name);
+                    continue;
+                }
+                Node current = candidate.node;
+                if (current.weight > 0) {
+                    queue.add(new Candidate(current, candidate.path, current.weight, true));
+                }
+                for (int i = 0; i < current.size; i++) {
+                    Node child = current.children[i];
+                    queue.add(new Candidate(child, candidate.path + current.keys[i], child.maxWeight, false));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeName(Long itemId) {
+        String previous = itemNames.remove(itemId);
+        if (previous != null) {
+            update(previous.toLowerCase(), previous, -1);
+        }
+    }
+
+    private void update(String key, String name, int delta) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = path[i].child(key.charAt(i));
+            if (child == null) {
+                child = path[i].addChild(key.charAt(i));
+            }
+            path[i + 1] = child;
+        }
+
+        Node terminal = path[key.length()];
+        terminal.weight += delta;
+        if (delta > 0 && terminal.name == null) {
+            terminal.name = name;
+        } else if (terminal.weight == 0) {
+            terminal.name = null;
+        }
+
+        for (int i = key.length(); i >= 0; i--) {
+            Node node = path[i];
+            int maxWeight = node.weight;
+            for (int j = 0; j < node.size; j++) {
+                maxWeight = Math.max(maxWeight, node.children[j].maxWeight);
+            }
+            node.maxWeight = maxWeight;
+            if (i > 0 && maxWeight == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+        }
+    }
+
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private int weight;
+        private int maxWeight;
+        private String name;
+
+        Node child(char key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node addChild(char key) {
+            int position = -Arrays.binarySearch(keys, 0, size, key) - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(1, size * 2));
+                children = Arrays.copyOf(children, Math.max(1, size * 2));
+            }
+            System.arraycopy(keys, position, keys, position + 1, size - position);
+            System.arraycopy(children, position, children, position + 1, size - position);
+            Node child = new Node();
+            keys[position] = key;
+            children[position] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(children, position + 1, children, position, size - position - 1);
+            size--;
+            children[size] = null;
+        }
+    }
+
+    private static class Candidate {
+        private final Node node;
+        private final String path;
+        private final int weight;
+        private final boolean terminal;
+
+        Candidate(Node node, String path, int weight, boolean terminal) {
+            this.node = node;
+            this.path = path;
+            this.weight = weight;
+            this.terminal = terminal;
+        }
+    }
+}
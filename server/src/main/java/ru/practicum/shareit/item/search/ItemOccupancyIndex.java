@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingRemovedEvent;
+import ru.practicum.shareit.booking.service.BookingSavedEvent;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Days occupied by approved bookings, one bitmap of epoch days per item.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemOccupancyIndex {
+    private static final int BATCH_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RoaringBitmap> occupiedDays = new HashMap<>();
+
+    @PostConstruct
+    public void build() {
+        long lastId = 0;
+        List<BookingPeriodView> batch;
+        do {
+            batch = bookingRepository.findPeriodsByStatusAfter(BookingStatus.APPROVED, lastId, PageRequest.of(0, BATCH_SIZE));
+            for (BookingPeriodView booking : batch) {
+                occupy(booking.getItemId(), booking.getStart(), booking.getEnd());
+                lastId = booking.getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            occupiedDays.values().forEach(RoaringBitmap::runOptimize);
+            log.info("item occupancy index built, {} items with approved bookings", occupiedDays.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingSaved(BookingSavedEvent event) {
+        if (event.getStatus() == BookingStatus.APPROVED) {
+            occupy(event.getItemId(), event.getStart(), event.getEnd());
+        }
+    }
+
+    /**
+     * Days are not counted per booking, so the item's days are loaded again from its remaining
+     * approved bookings; the write lock is held meanwhile so no approval slips in between.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingRemoved(BookingRemovedEvent event) {
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap days = new RoaringBitmap();
+            bookingRepository.findPeriodsByItemIdAndStatus(event.getItemId(), BookingStatus.APPROVED)
+                    .forEach(booking -> addDays(days, booking.getStart(), booking.getEnd()));
+            if (days.isEmpty()) {
+                occupiedDays.remove(event.getItemId());
+            } else {
+                days.runOptimize();
+                occupiedDays.put(event.getItemId(), days);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isFree(Long itemId, LocalDate start, LocalDate end) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap days = occupiedDays.get(itemId);
+            return days == null || !days.intersects(start.toEpochDay(), end.toEpochDay() + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void occupy(Long itemId, LocalDateTime start, LocalDateTime end) {
+        lock.writeLock().lock();
+        try {
+            addDays(occupiedDays.computeIfAbsent(itemId, id -> new RoaringBitmap()), start, end);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void addDays(RoaringBitmap days, LocalDateTime start, LocalDateTime end) {
+        long firstDay = start.toLocalDate().toEpochDay();
+        long lastDay = end.minusNanos(1).toLocalDate().toEpochDay();
+        days.add(firstDay, Math.max(firstDay, lastDay) + 1);
+    }
+}
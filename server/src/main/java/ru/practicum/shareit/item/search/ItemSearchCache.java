@@ -0,0 +1,175 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemRemovedEvent;
+import ru.practicum.shareit.item.service.ItemSavedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search results keyed by lower-cased text, then page. A saved or removed
+ * item evicts every page of the texts it is found on and of the texts whose words it now
+ * contains: one item leaving or joining a result shifts all the pages after it.
+ */
+@Component
+public class ItemSearchCache {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Query> queries = new LinkedHashMap<>(16, 0.75f, true);
+    private int size;
+    private long invalidations;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidatedEvictions;
+
+    @Autowired
+    public ItemSearchCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.search.cache.max-size:10000}") int maxSize,
+                           @Value("${shareit.search.cache.ttl:60s}") Duration ttl) {
+        this(meterRegistry, maxSize, ttl, Clock.systemUTC());
+    }
+
+    public ItemSearchCache(MeterRegistry meterRegistry, int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        hits = meterRegistry.counter("item.search.cache.requests", "result", "hit");
+        misses = meterRegistry.counter("item.search.cache.requests", "result", "miss");
+        sizeEvictions = meterRegistry.counter("item.search.cache.evictions", "cause", "size");
+        expiredEvictions = meterRegistry.counter("item.search.cache.evictions", "cause", "expired");
+        invalidatedEvictions = meterRegistry.counter("item.search.cache.evictions", "cause", "invalidated");
+        Gauge.builder("item.search.cache.size", this, ItemSearchCache::size).register(meterRegistry);
+    }
+
+    public List<ItemDto> get(String text, int from, int size, Supplier<List<ItemDto>> loader) {
+        String key = text.toLowerCase();
+        Page page = new Page(from, size);
+        long invalidationsBefore;
+        synchronized (this) {
+            Query query = queries.get(key);
+            Entry entry = query != null ? query.pages.get(page) : null;
+            if (entry != null && clock.millis() - entry.createdAt < ttlMillis) {
+                hits.increment();
+                return new ArrayList<>(entry.items);
+            }
+            if (entry != null) {
+                query.pages.remove(page);
+                this.size--;
+                if (query.pages.isEmpty()) {
+                    queries.remove(key);
+                }
+                expiredEvictions.increment();
+            }
+            invalidationsBefore = invalidations;
+        }
+
+        misses.increment();
+        List<ItemDto> result = loader.get();
+
+        synchronized (this) {
+            if (invalidations == invalidationsBefore) {
+                Query query = queries.computeIfAbsent(key, Query::new);
+                if (query.pages.put(page, new Entry(result, clock.millis())) == null) {
+                    this.size++;
+                }
+                Iterator<Query> eldest = queries.values().iterator();
+                while (this.size > maxSize) {
+                    Query evicted = eldest.next();
+                    eldest.remove();
+                    this.size -= evicted.pages.size();
+                    sizeEvictions.increment(evicted.pages.size());
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        ItemDto item = event.getItem();
+        String itemText = Boolean.TRUE.equals(item.getAvailable())
+                ? (item.getName() + " " + item.getDescription()).toLowerCase()
+                : null;
+        invalidate(query -> query.contains(item.getId()) || (itemText != null && query.matches(itemText)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRemoved(ItemRemovedEvent event) {
+        invalidate(query -> query.contains(event.getItemId()));
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized void invalidate(Predicate<Query> affected) {
+        invalidations++;
+        Iterator<Query> iterator = queries.values().iterator();
+        while (iterator.hasNext()) {
+            Query query = iterator.next();
+            if (affected.test(query)) {
+                iterator.remove();
+                size -= query.pages.size();
+                invalidatedEvictions.increment(query.pages.size());
+            }
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Page {
+        private final int from;
+        private final int size;
+    }
+
+    private static class Query {
+        private final String text;
+        private final List<String> words;
+        private final Map<Page, Entry> pages = new HashMap<>();
+
+        Query(String text) {
+            this.text = text;
+            this.words = ItemSearchTokenizer.tokenize(text);
+        }
+
+        boolean contains(Long itemId) {
+            return pages.values().stream()
+                    .anyMatch(entry -> entry.items.stream().anyMatch(item -> item.getId().equals(itemId)));
+        }
+
+        boolean matches(String itemText) {
+            if (words.isEmpty()) {
+                return itemText.contains(text);
+            }
+            return words.stream().allMatch(itemText::contains);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final List<ItemDto> items;
+        private final long createdAt;
+    }
+}
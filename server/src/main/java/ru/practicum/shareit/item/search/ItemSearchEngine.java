@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+/**
+ * Finds available items whose name or description matches the search text.
+ * The implementation is selected with the {@code shareit.search.engine} property.
+ */
+public interface ItemSearchEngine {
+    List<ItemDto> search(String text, int from, int size);
+}
@@ -0,0 +1,367 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index of available items. Every suffix of every word is a key, so both
+ * prefix and substring queries resolve to a range scan over the sorted dictionary.
+ * Searches return item ids; per item only its lower-cased name and description are
+ * kept on-heap, for the final match and the next compaction.
+ * <p>
+ * Compacted postings live off-heap in {@link OffHeapPostings}; items changed since the
+ * last compaction form a delta that searches scan item by item, and their base postings
+ * are masked out until the next {@link #compact()}. Once the delta outgrows the threshold
+ * the compaction runs on the compactor: the delta is frozen under the write lock, the new
+ * base is built from a snapshot of the items without holding any lock, and swapped in
+ * under the write lock again. Searches and writes go on while it is built.
+ */
+public class ItemSearchIndex {
+    static final int COMPACTION_THRESHOLD = 10_000;
+    private static final Executor COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-search-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock compaction = new ReentrantLock();
+    private final int compactionThreshold;
+    private final Executor compactor;
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private OffHeapPostings base = OffHeapPostings.empty();
+    // masks the base only, while a compaction builds its replacement
+    private LongPostingList baseStaleIds = new LongPostingList();
+    // the delta the running compaction folds into the new base
+    private LongPostingList frozenIds = new LongPostingList();
+    // masks the base and the frozen delta
+    private LongPostingList staleIds = new LongPostingList();
+    private LongPostingList deltaIds = new LongPostingList();
+    private int generation;
+    private int deltaSize;
+    private boolean compactionScheduled;
+
+    public ItemSearchIndex() {
+        this(COMPACTION_THRESHOLD, COMPACTOR);
+    }
+
+    public ItemSearchIndex(int compactionThreshold, Executor compactor) {
+        this.compactionThreshold = compactionThreshold;
+        this.compactor = compactor;
+    }
+
+    public void put(ItemDto item) {
+        boolean scheduleCompaction = false;
+        lock.writeLock().lock();
+        try {
+            removeIndexed(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                items.put(item.getId(), new IndexedItem(item.getId(), item.getName().toLowerCase(),
+                        item.getDescription().toLowerCase(), generation));
+                deltaIds.add(item.getId());
+                if (++deltaSize > compactionThreshold && !compactionScheduled) {
+                    compactionScheduled = true;
+                    scheduleCompaction = true;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (scheduleCompaction) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeIndexed(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Folds the delta into a new off-heap base. The write lock is held only to freeze the delta
+     * and to swap the base; concurrent compactions run one after another.
+     */
+    public void compact() {
+        compaction.lock();
+        try {
+            List<IndexedItem> snapshot;
+            lock.writeLock().lock();
+            try {
+                snapshot = new ArrayList<>(items.values());
+                baseStaleIds = staleIds;
+                staleIds = new LongPostingList();
+                frozenIds = deltaIds;
+                deltaIds = new LongPostingList();
+                generation++;
+                deltaSize = 0;
+                compactionScheduled = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            OffHeapPostings built;
+            try {
+                built = build(snapshot);
+            } catch (RuntimeException | Error e) {
+                unfreeze();
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                base = built;
+                baseStaleIds = new LongPostingList();
+                frozenIds = new LongPostingList();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            compaction.unlock();
+        }
+    }
+
+    /**
+     * Ids of the page of available items matching the text, in id order.
+     */
+    public List<Long> search(String text, int from, int size) {
+        List<String> words = ItemSearchTokenizer.tokenize(text);
+        List<Long> result = new ArrayList<>();
+        if (words.isEmpty()) {
+            return result;
+        }
+        String query = text.toLowerCase();
+
+        lock.readLock().lock();
+        try {
+            long[] baseMatches = null;
+            for (String word : words) {
+                long[] matches = LongPostingList.difference(
+                        LongPostingList.unionArrays(base.range(word, word + Character.MAX_VALUE)), baseStaleIds);
+                baseMatches = baseMatches == null ? matches : LongPostingList.intersect(baseMatches, matches);
+                if (baseMatches.length == 0) {
+                    break;
+                }
+            }
+            // an item is current in exactly one of the base, the frozen delta and the delta
+            long[] candidates = LongPostingList.unionArrays(List.of(
+                    LongPostingList.difference(baseMatches, staleIds),
+                    LongPostingList.difference(scan(frozenIds, words), staleIds),
+                    scan(deltaIds, words)));
+
+            long skip = (long) from * size;
+            for (long id : candidates) {
+                IndexedItem item = items.get(id);
+                if (item == null || !item.matches(query)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(id);
+                if (result.size() == size) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return base.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the index in the format {@link #readFrom} reads. The locks are held only to copy the
+     * state out; the copy is written after they are released, so searches and writes don't wait
+     * for the output.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        List<IndexedItem> snapshot;
+        int snapshotGeneration;
+        OffHeapPostings snapshotBase;
+        long[] snapshotStaleIds;
+        // a running compaction holds part of the state in the frozen delta, which is not written
+        compaction.lock();
+        lock.readLock().lock();
+        try {
+            snapshot = new ArrayList<>(items.values());
+            snapshotGeneration = generation;
+            snapshotBase = base;
+            snapshotStaleIds = staleIds.toArray();
+        } finally {
+            lock.readLock().unlock();
+            compaction.unlock();
+        }
+
+        out.writeInt(snapshot.size());
+        for (IndexedItem indexed : snapshot) {
+            out.writeLong(indexed.id);
+            OffHeapPostings.writeString(out, indexed.name);
+            OffHeapPostings.writeString(out, indexed.description);
+            out.writeBoolean(indexed.generation == snapshotGeneration);
+        }
+        snapshotBase.writeTo(out);
+        writeIds(out, snapshotStaleIds);
+    }
+
+    public static ItemSearchIndex readFrom(ByteBuffer in) {
+        ItemSearchIndex index = new ItemSearchIndex();
+        int itemCount = in.getInt();
+        for (int i = 0; i < itemCount; i++) {
+            long id = in.getLong();
+            String name = OffHeapPostings.readString(in);
+            String description = OffHeapPostings.readString(in);
+            boolean inDelta = in.get() != 0;
+            if (inDelta) {
+                index.deltaSize++;
+                index.deltaIds.add(id);
+            }
+            index.items.put(id, new IndexedItem(id, name, description,
+                    inDelta ? index.generation : index.generation - 1));
+        }
+        index.base = OffHeapPostings.readFrom(in);
+        index.staleIds = LongPostingList.of(readIds(in));
+        return index;
+    }
+
+    private static void writeIds(DataOutput out, long[] ids) throws IOException {
+        out.writeInt(ids.length);
+        for (long id : ids) {
+            out.writeLong(id);
+        }
+    }
+
+    private static long[] readIds(ByteBuffer in) {
+        long[] ids = new long[OffHeapPostings.readLength(in, Long.BYTES)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = in.getLong();
+        }
+        return ids;
+    }
+
+    private static OffHeapPostings build(List<IndexedItem> snapshot) {
+        NavigableMap<String, LongPostingList> merged = new TreeMap<>();
+        for (IndexedItem indexed : snapshot) {
+            for (String key : indexed.keys()) {
+                merged.computeIfAbsent(key, k -> new LongPostingList()).add(indexed.id);
+            }
+        }
+        NavigableMap<String, long[]> sorted = new TreeMap<>();
+        merged.forEach((key, ids) -> sorted.put(key, ids.toArray()));
+        return OffHeapPostings.build(sorted);
+    }
+
+    /**
+     * Returns the frozen delta to the live one after a failed build. Items that changed meanwhile
+     * stay masked in the base only; their frozen ids are stale candidates that the match against
+     * the current item filters out until the next compaction.
+     */
+    private void unfreeze() {
+        lock.writeLock().lock();
+        try {
+            for (long id : frozenIds.toArray()) {
+                deltaIds.add(id);
+            }
+            for (long id : staleIds.toArray()) {
+                baseStaleIds.add(id);
+            }
+            staleIds = baseStaleIds;
+            baseStaleIds = new LongPostingList();
+            frozenIds = new LongPostingList();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeIndexed(Long itemId) {
+        IndexedItem indexed = items.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        if (indexed.generation != generation) {
+            staleIds.add(itemId);
+            return;
+        }
+        deltaSize--;
+        deltaIds.remove(itemId);
+    }
+
+    /**
+     * Ids of the listed items whose text holds every word, which is what the suffix range scan
+     * finds in the base: the words are runs of letters and digits, so each lies within one word.
+     */
+    private long[] scan(LongPostingList ids, List<String> words) {
+        LongPostingList matches = new LongPostingList();
+        for (long id : ids.toArray()) {
+            IndexedItem item = items.get(id);
+            if (item != null && words.stream().allMatch(item::contains)) {
+                matches.add(id);
+            }
+        }
+        return matches.toArray();
+    }
+
+    private static class IndexedItem {
+        private final long id;
+        private final String name;
+        private final String description;
+        // the delta generation the item was indexed in; older ones are in the base or the frozen delta
+        private final int generation;
+
+        IndexedItem(long id, String name, String description, int generation) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.generation = generation;
+        }
+
+        Set<String> keys() {
+            return ItemSearchTokenizer.suffixes(name, description);
+        }
+
+        boolean contains(String word) {
+            return name.contains(word) || description.contains(word);
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Versioned snapshot file of an {@link ItemSearchIndex}: a header with the time the
+ * snapshot was taken, followed by the indexed items and the posting lists.
+ */
+@Getter
+public class ItemSearchIndexSnapshot {
+    private static final int MAGIC = 0x53494458;
+    private static final int VERSION = 3;
+
+    private final ItemSearchIndex index;
+    private final LocalDateTime takenAt;
+
+    public ItemSearchIndexSnapshot(ItemSearchIndex index, LocalDateTime takenAt) {
+        this.index = index;
+        this.takenAt = takenAt;
+    }
+
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(takenAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+            index.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static ItemSearchIndexSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("not an item search index snapshot: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("unsupported item search index snapshot version " + version + ": " + file);
+            }
+            LocalDateTime takenAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC);
+            return new ItemSearchIndexSnapshot(ItemSearchIndex.readFrom(buffer), takenAt);
+        } catch (RuntimeException e) {
+            // a truncated or overwritten file fails wherever its content stops making sense
+            throw new IOException("corrupt item search index snapshot: " + file, e);
+        }
+    }
+}
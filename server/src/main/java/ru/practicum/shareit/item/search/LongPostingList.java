@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sorted set of item ids stored in a primitive array.
+ */
+public class LongPostingList {
+    private long[] ids = new long[4];
+    private int size;
+
+    public static LongPostingList of(long[] sortedIds) {
+        LongPostingList list = new LongPostingList();
+        list.ids = sortedIds.length > 0 ? sortedIds : new long[4];
+        list.size = sortedIds.length;
+        return list;
+    }
+
+    public boolean add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    public static long[] union(Collection<LongPostingList> lists) {
+        List<long[]> arrays = new ArrayList<>(lists.size());
+        for (LongPostingList list : lists) {
+            arrays.add(list.toArray());
+        }
+        return unionArrays(arrays);
+    }
+
+    public static long[] unionArrays(Collection<long[]> arrays) {
+        if (arrays.size() == 1) {
+            return arrays.iterator().next();
+        }
+        int total = 0;
+        for (long[] array : arrays) {
+            total += array.length;
+        }
+        long[] result = new long[total];
+        int length = 0;
+        for (long[] array : arrays) {
+            System.arraycopy(array, 0, result, length, array.length);
+            length += array.length;
+        }
+        Arrays.sort(result);
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            if (distinct == 0 || result[distinct - 1] != result[i]) {
+                result[distinct++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    public static long[] difference(long[] first, LongPostingList second) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        long[] result = new long[first.length];
+        int length = 0;
+        for (long id : first) {
+            if (Arrays.binarySearch(second.ids, 0, second.size, id) < 0) {
+                result[length++] = id;
+            }
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[length++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, length);
+    }
+}
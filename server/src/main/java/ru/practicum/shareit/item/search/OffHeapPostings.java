@@ -0,0 +1,205 @@
+package ru.practicum.shareit.item.search;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Immutable posting lists stored outside the Java heap. Terms are kept in a sorted
+ * on-heap array; the ids of every term are delta-encoded varints in one direct buffer.
+ */
+public class OffHeapPostings {
+    private static final OffHeapPostings EMPTY = new OffHeapPostings(new String[0], new int[]{0},
+            ByteBuffer.allocateDirect(0));
+
+    private final String[] terms;
+    private final int[] offsets;
+    private final ByteBuffer buffer;
+
+    private OffHeapPostings(String[] terms, int[] offsets, ByteBuffer buffer) {
+        this.terms = terms;
+        this.offsets = offsets;
+        this.buffer = buffer;
+    }
+
+    public static OffHeapPostings empty() {
+        return EMPTY;
+    }
+
+    public static OffHeapPostings build(NavigableMap<String, long[]> postings) {
+        String[] terms = new String[postings.size()];
+        int[] offsets = new int[postings.size() + 1];
+        int term = 0;
+        int length = 0;
+        for (Map.Entry<String, long[]> entry : postings.entrySet()) {
+            terms[term] = entry.getKey();
+            offsets[term++] = length;
+            length += encodedLength(entry.getValue());
+        }
+        offsets[term] = length;
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+        for (long[] ids : postings.values()) {
+            writeVarLong(buffer, ids.length);
+            long previous = 0;
+            for (long id : ids) {
+                writeVarLong(buffer, id - previous);
+                previous = id;
+            }
+        }
+        buffer.flip();
+        return new OffHeapPostings(terms, offsets, buffer);
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    public long sizeInBytes() {
+        return buffer.limit();
+    }
+
+    public String term(int position) {
+        return terms[position];
+    }
+
+    public long[] get(String term) {
+        int position = Arrays.binarySearch(terms, term);
+        return position >= 0 ? decode(position) : new long[0];
+    }
+
+    public long[] decode(int position) {
+        int offset = offsets[position];
+        long[] value = new long[1];
+        offset = readVarLong(buffer, offset, value);
+        long[] ids = new long[(int) value[0]];
+        long previous = 0;
+        for (int i = 0; i < ids.length; i++) {
+            offset = readVarLong(buffer, offset, value);
+            previous += value[0];
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    public List<long[]> range(String fromInclusive, String toExclusive) {
+        int from = insertionPoint(fromInclusive);
+        int to = insertionPoint(toExclusive);
+        List<long[]> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add(decode(i));
+        }
+        return result;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(terms.length);
+        for (int i = 0; i < terms.length; i++) {
+            writeString(out, terms[i]);
+            out.writeInt(offsets[i]);
+        }
+        out.writeInt(buffer.limit());
+        ByteBuffer bytes = buffer.duplicate();
+        byte[] chunk = new byte[8192];
+        while (bytes.hasRemaining()) {
+            int length = Math.min(chunk.length, bytes.remaining());
+            bytes.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Reads postings written by {@link #writeTo}. The id bytes are not copied: the result
+     * references a slice of {@code in}, which is expected to be a direct or mapped buffer.
+     */
+    public static OffHeapPostings readFrom(ByteBuffer in) {
+        String[] terms = new String[readLength(in, 2 * Integer.BYTES)];
+        int[] offsets = new int[terms.length + 1];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = readString(in);
+            offsets[i] = in.getInt();
+        }
+        int length = readLength(in, 1);
+        offsets[terms.length] = length;
+        ByteBuffer buffer = in.slice();
+        buffer.limit(length);
+        in.position(in.position() + length);
+        return new OffHeapPostings(terms, offsets, buffer);
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[readLength(in, 1)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a count of elements that take at least {@code elementSize} bytes each, rejecting one the rest of
+     * the buffer can't hold, so a damaged file fails before a huge array is allocated.
+     */
+    static int readLength(ByteBuffer in, int elementSize) {
+        int length = in.getInt();
+        if (length < 0 || (long) length * elementSize > in.remaining()) {
+            throw new IllegalArgumentException("length " + length + " exceeds the remaining " + in.remaining()
+                    + " bytes");
+        }
+        return length;
+    }
+
+    private int insertionPoint(String term) {
+        int position = Arrays.binarySearch(terms, term);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private static int encodedLength(long[] ids) {
+        int length = varLongLength(ids.length);
+        long previous = 0;
+        for (long id : ids) {
+            length += varLongLength(id - previous);
+            previous = id;
+        }
+        return length;
+    }
+
+    private static int varLongLength(long value) {
+        int length = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    private static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int readVarLong(ByteBuffer buffer, int offset, long[] value) {
+        long result = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = buffer.get(offset++);
+            result |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        value[0] = result;
+        return offset;
+    }
+}
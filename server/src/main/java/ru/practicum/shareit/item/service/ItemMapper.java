@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -18,6 +19,26 @@ public class ItemMapper {
         return result;
     }
 
+    public static ItemDto toItemDto(ItemSearchView item) {
+        ItemDto result = new ItemDto();
+        result.setId(item.getId());
+        result.setName(item.getName());
+        result.setDescription(item.getDescription());
+        result.setAvailable(item.getAvailable());
+        result.setRequestId(item.getRequestId());
+        return result;
+    }
+
+    public static ItemDto copyItemDto(ItemDto item) {
+        ItemDto result = new ItemDto();
+        result.setId(item.getId());
+        result.setName(item.getName());
+        result.setDescription(item.getDescription());
+        result.setAvailable(item.getAvailable());
+        result.setRequestId(item.getRequestId());
+        return result;
+    }
+
     public static Item toItemModel(ItemDto itemDto, User owner) {
         Item result = new Item();
         result.setId(itemDto.getId());
@@ -1,9 +1,10 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ItemService {
@@ -15,7 +16,17 @@ public interface ItemService {
 
     List<ItemDto> getAllByUserId(Long userId, int from, int size);
 
-    List<Item> findByRequest(String request, int from, int size);
+    List<ItemDto> findByRequest(String request, int from, int size);
+
+    List<ItemDto> findFreeByRequest(String request, int from, int size, LocalDate start, LocalDate end);
+
+    List<ItemDto> findFuzzyByRequest(String request, int from, int size);
+
+    List<String> suggest(String prefix, int size);
+
+    List<BookingIntervalDto> getCalendar(Long itemId, LocalDate from, LocalDate to);
+
+    List<ItemDto> findChanged(Long afterId, int size);
 
     CommentDto createComment(Long itemId, Long userId, CommentDto commentDto);
 }
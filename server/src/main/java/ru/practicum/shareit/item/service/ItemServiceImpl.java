@@ -2,14 +2,14 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.dto.BookingBriefDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.booking.service.BookingMapper;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
@@ -18,28 +18,58 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.FuzzyItemSearch;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemOccupancyIndex;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryMapper;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.service.ChangeJournal;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    /**
+     * Search matches checked for free dates per request at most: when they run out before the page
+     * is filled the request is rejected with 400 rather than answered with a short page, and the
+     * client has to narrow the text or the dates.
+     */
+    public static final int FREE_SEARCH_SCAN_LIMIT = 1000;
+    public static final int FREE_SEARCH_SCAN_PAGE = 100;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ObjectProvider<FuzzyItemSearch> fuzzyItemSearch;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemOccupancyIndex itemOccupancyIndex;
+    private final BookingCalendar bookingCalendar;
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final ChangeJournal changeJournal;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ItemDto create(ItemDto itemDto, Long userId) {
@@ -53,7 +83,13 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(itemRequest);
         }
 
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemBookingSummaryRepository.save(new ItemBookingSummary(savedItem.getId()));
+        ItemDto savedItemDto = ItemMapper.toItemDto(savedItem);
+        changeJournal.record(ChangeEntity.ITEM, savedItem.getId(), ChangeOperation.CREATE, savedItemDto);
+        eventPublisher.publishEvent(new ItemSavedEvent(savedItemDto));
+
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Transactional
@@ -78,6 +114,10 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemDto.getAvailable());
         }
 
+        ItemDto updatedItemDto = ItemMapper.toItemDto(item);
+        changeJournal.record(ChangeEntity.ITEM, item.getId(), ChangeOperation.UPDATE, updatedItemDto);
+        eventPublisher.publishEvent(new ItemSavedEvent(updatedItemDto));
+
         return ItemMapper.toItemDto(item);
     }
 
@@ -95,15 +135,9 @@ public class ItemServiceImpl implements ItemService {
             return itemDto;
         }
 
-        List<Booking> lastBooking = bookingRepository.findTop1BookingByItemIdAndEndIsBeforeAndStatusIs(
-                itemId, LocalDateTime.now(), BookingStatus.APPROVED, Sort.by(Sort.Direction.DESC, "end"));
-
-        itemDto.setLastBooking(lastBooking.isEmpty() ? null : BookingMapper.toBookingBriefDto(lastBooking.get(0)));
-
-        List<Booking> nextBooking = bookingRepository.findTop1BookingByItemIdAndEndIsAfterAndStatusIs(
-                itemId, LocalDateTime.now(), BookingStatus.APPROVED, Sort.by(Sort.Direction.ASC, "end"));
-
-        itemDto.setNextBooking(nextBooking.isEmpty() ? null : BookingMapper.toBookingBriefDto(nextBooking.get(0)));
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(itemId).orElse(null);
+        itemDto.setLastBooking(ItemBookingSummaryMapper.toLastBooking(summary));
+        itemDto.setNextBooking(ItemBookingSummaryMapper.toNextBooking(summary));
 
         if (itemDto.getLastBooking() == null && itemDto.getNextBooking() != null) {
             itemDto.setLastBooking(itemDto.getNextBooking());
@@ -116,7 +150,7 @@ public class ItemServiceImpl implements ItemService {
     @Transactional(readOnly = true)
     @Override
     public List<ItemDto> getAllByUserId(Long userId, int from, int size) {
-        List<ItemDto> itemDtoList = itemRepository.findAllByOwnerId(userId, PageRequest.of(from, size))
+        List<ItemDto> itemDtoList = itemRepository.findAllByOwnerIdOrderByLastBookingDesc(userId, PageRequest.of(from, size))
                 .stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
@@ -125,58 +159,116 @@ public class ItemServiceImpl implements ItemService {
             return new ArrayList<>();
         }
 
-        for (ItemDto itemDto : itemDtoList) {
-            itemDto.setComments(commentRepository.findAllByItemId(itemDto.getId())
-                    .stream().map(CommentMapper::toCommentDto).collect(Collectors.toList()));
+        List<Long> itemIds = itemDtoList.stream().map(ItemDto::getId).collect(Collectors.toList());
 
-            List<Booking> lastBooking = bookingRepository.findTop1BookingByItemIdAndEndIsBeforeAndStatusIs(
-                    itemDto.getId(), LocalDateTime.now(), BookingStatus.APPROVED, Sort.by(Sort.Direction.DESC, "end"));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
 
-            itemDto.setLastBooking(lastBooking.isEmpty() ? new BookingBriefDto() : BookingMapper.toBookingBriefDto(lastBooking.get(0)));
+        for (ItemDto itemDto : itemDtoList) {
+            itemDto.setComments(comments.getOrDefault(itemDto.getId(), new ArrayList<>()));
+            itemDto.setLastBooking(ItemBookingSummaryMapper.toLastBooking(summaries.get(itemDto.getId())));
+            itemDto.setNextBooking(ItemBookingSummaryMapper.toNextBooking(summaries.get(itemDto.getId())));
+        }
 
-            List<Booking> nextBooking = bookingRepository.findTop1BookingByItemIdAndEndIsAfterAndStatusIs(
-                    itemDto.getId(), LocalDateTime.now(), BookingStatus.APPROVED, Sort.by(Sort.Direction.ASC, "end"));
+        return itemDtoList;
+    }
 
-            itemDto.setNextBooking(nextBooking.isEmpty() ? new BookingBriefDto() : BookingMapper.toBookingBriefDto(nextBooking.get(0)));
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemDto> findByRequest(String request, int from, int size) {
+        if (request == null || request.isBlank()) {
+            return new ArrayList<>();
         }
 
-        itemDtoList.sort(Comparator.comparing(o -> o.getLastBooking().getStart(), Comparator.nullsLast(Comparator.reverseOrder())));
+        return itemSearchCache.get(request, from, size, () -> itemSearchEngine.search(request, from, size));
+    }
 
-        for (ItemDto itemDto : itemDtoList) {
-            if (itemDto.getLastBooking().getBookerId() == null) {
-                itemDto.setLastBooking(null);
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemDto> findFreeByRequest(String request, int from, int size, LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            throw new BadRequestException("wrong search start and end dates");
+        }
+        if (request == null || request.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        List<ItemDto> result = new ArrayList<>();
+        long skip = (long) from * size;
+        int scanned = 0;
+        for (int page = 0; result.size() < size && scanned < FREE_SEARCH_SCAN_LIMIT; page++) {
+            List<ItemDto> items = itemSearchEngine.search(request, page, FREE_SEARCH_SCAN_PAGE);
+            scanned += items.size();
+            for (ItemDto item : items) {
+                if (!itemOccupancyIndex.isFree(item.getId(), start, end)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(item);
+                if (result.size() == size) {
+                    break;
+                }
             }
-            if (itemDto.getNextBooking().getBookerId() == null) {
-                itemDto.setNextBooking(null);
+            if (items.size() < FREE_SEARCH_SCAN_PAGE) {
+                return result;
             }
         }
 
-        return itemDtoList;
+        if (result.size() < size) {
+            throw new BadRequestException("more than " + FREE_SEARCH_SCAN_LIMIT
+                    + " items match the search text, narrow the text or the dates");
+        }
+        return result;
     }
 
-    @Transactional(readOnly = true)
     @Override
-    public List<Item> findByRequest(String request, int from, int size) {
+    public List<ItemDto> findFuzzyByRequest(String request, int from, int size) {
         if (request == null || request.isBlank()) {
             return new ArrayList<>();
         }
 
-        List<Item> result = new ArrayList<>();
-        request = request.toLowerCase();
+        FuzzyItemSearch search = fuzzyItemSearch.getIfAvailable();
+        if (search == null) {
+            throw new BadRequestException("fuzzy item search is disabled");
+        }
+        return search.search(request, from, size);
+    }
 
-        List<Item> itemsList = itemRepository.findAll(PageRequest.of(from, size))
-                .stream()
-                .collect(Collectors.toList());
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        if (prefix == null || prefix.isBlank()) {
+            return new ArrayList<>();
+        }
 
-        for (Item item : itemsList) {
-            String name = item.getName().toLowerCase();
-            String description = item.getDescription().toLowerCase();
-            if (item.getAvailable().equals(true) && (name.contains(request) || description.contains(request))) {
-                result.add(item);
-            }
+        return itemNameSuggester.suggest(prefix.trim(), size);
+    }
+
+    @Override
+    public List<BookingIntervalDto> getCalendar(Long itemId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("wrong calendar from and to dates");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new ObjectNotFoundException("item with id:" + itemId + " not found error");
         }
 
-        return result;
+        return bookingCalendar.findBusy(itemId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    @Override
+    public List<ItemDto> findChanged(Long afterId, int size) {
+        return itemRepository.findSearchViewsAfter(afterId, PageRequest.of(0, size))
+                .stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
     }
 
     @Transactional
@@ -195,7 +287,9 @@ public class ItemServiceImpl implements ItemService {
         comment.setAuthor(user);
         comment.setCreated(LocalDateTime.now());
         commentRepository.save(comment);
+        CommentDto savedCommentDto = CommentMapper.toCommentDto(comment);
+        changeJournal.record(ChangeEntity.COMMENT, comment.getId(), ChangeOperation.CREATE, savedCommentDto);
 
-        return CommentMapper.toCommentDto(comment);
+        return savedCommentDto;
     }
 }
@@ -1,10 +1,41 @@
 package ru.practicum.shareit.item.storage;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    @Query("select c from Comment c where c.item.id = :itemId")
+    List<Comment> findAllByItemId(@Param("itemId") Long itemId);
+
+    @Query("select c from Comment c join fetch c.author where c.item.id in :itemIds")
+    List<Comment> findAllByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("select c.id from Comment c where c.author.id = :userId")
+    List<Long> findIdsByAuthorId(@Param("userId") Long userId);
+
+    @Query("select c.id from Item i, Comment c where i.owner.id = :userId and c.item = i")
+    List<Long> findIdsByItemOwnerId(@Param("userId") Long userId);
+
+    @Query("select c.id from ItemRequest r, Item i, Comment c " +
+            "where r.requestor.id = :userId and i.request = r and c.item = i")
+    List<Long> findIdsByItemRequestorId(@Param("userId") Long userId);
+
+    /**
+     * Comments removed by cascade together with the user, one index lookup per branch like
+     * {@link ru.practicum.shareit.booking.storage.BookingRepository#findIdsRemovedWithUser}.
+     */
+    default List<Long> findIdsRemovedWithUser(Long userId) {
+        Set<Long> ids = new LinkedHashSet<>(findIdsByAuthorId(userId));
+        ids.addAll(findIdsByItemOwnerId(userId));
+        ids.addAll(findIdsByItemRequestorId(userId));
+        return new ArrayList<>(ids);
+    }
 }
@@ -1,14 +1,78 @@
 package ru.practicum.shareit.item.storage;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByRequestId(Long requestId);
+    int SCAN_BATCH_SIZE = 1000;
+
+    @Query("select i from Item i where i.request.id = :requestId")
+    List<Item> findAllByRequestId(@Param("requestId") Long requestId);
 
     Page<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+
+    @Query(value = "SELECT i.* FROM items AS i LEFT JOIN item_booking_summary AS s ON s.item_id = i.id " +
+            "WHERE i.owner_id = :ownerId ORDER BY s.last_booking_start DESC NULLS LAST, i.id",
+            nativeQuery = true)
+    List<Item> findAllByOwnerIdOrderByLastBookingDesc(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available, " +
+            "r.id as requestId from Item i left join i.request r " +
+            "where i.available = true and (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%'))) order by i.id")
+    List<ItemSearchView> searchAvailable(@Param("text") String text, Pageable pageable);
+
+    @Query(value = "SELECT i.id AS \"id\", i.name AS \"name\", i.description AS \"description\", " +
+            "i.is_available AS \"available\", i.request_id AS \"requestId\" " +
+            "FROM items AS i, to_tsquery('simple', :query) AS q " +
+            "WHERE i.is_available AND i.search_vector @@ q " +
+            "ORDER BY ts_rank(i.search_vector, q) DESC, i.id",
+            nativeQuery = true)
+    List<ItemSearchView> searchAvailableFullText(@Param("query") String query, Pageable pageable);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available, " +
+            "r.id as requestId from Item i left join i.request r where i.id > :afterId order by i.id")
+    List<ItemSearchView> findSearchViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available, " +
+            "r.id as requestId from Item i left join i.request r where i.updated >= :since and i.id > :afterId order by i.id")
+    List<ItemSearchView> findSearchViewsUpdatedSinceAfter(@Param("since") LocalDateTime since,
+                                                          @Param("afterId") Long afterId,
+                                                          Pageable pageable);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available, " +
+            "r.id as requestId from Item i left join i.request r where i.id in :ids")
+    List<ItemSearchView> findSearchViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select i.id from Item i left join i.request r where i.owner.id = :userId or r.requestor.id = :userId")
+    List<Long> findIdsRemovedWithUser(@Param("userId") Long userId);
+
+    default void forEachSearchView(Consumer<ItemSearchView> consumer) {
+        forEachSearchView(null, consumer);
+    }
+
+    default void forEachSearchView(LocalDateTime updatedSince, Consumer<ItemSearchView> consumer) {
+        long lastId = 0;
+        List<ItemSearchView> batch;
+        do {
+            batch = updatedSince == null
+                    ? findSearchViewsAfter(lastId, PageRequest.of(0, SCAN_BATCH_SIZE))
+                    : findSearchViewsUpdatedSinceAfter(updatedSince, lastId, PageRequest.of(0, SCAN_BATCH_SIZE));
+            for (ItemSearchView item : batch) {
+                consumer.accept(item);
+                lastId = item.getId();
+            }
+        } while (batch.size() == SCAN_BATCH_SIZE);
+    }
 }
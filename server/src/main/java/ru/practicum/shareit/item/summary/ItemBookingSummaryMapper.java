@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.summary;
+
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+
+public class ItemBookingSummaryMapper {
+    public static BookingBriefDto toLastBooking(ItemBookingSummary summary) {
+        if (summary == null || summary.getLastBookingId() == null) {
+            return null;
+        }
+        return new BookingBriefDto(summary.getLastBookingId(), summary.getLastBookingStart(),
+                summary.getLastBookingEnd(), summary.getItemId(), summary.getLastBookerId());
+    }
+
+    public static BookingBriefDto toNextBooking(ItemBookingSummary summary) {
+        if (summary == null || summary.getNextBookingId() == null) {
+            return null;
+        }
+        return new BookingBriefDto(summary.getNextBookingId(), summary.getNextBookingStart(),
+                summary.getNextBookingEnd(), summary.getItemId(), summary.getNextBookerId());
+    }
+
+    public static void setLastBooking(ItemBookingSummary summary, BookingBriefDto booking) {
+        summary.setLastBookingId(booking == null ? null : booking.getId());
+        summary.setLastBookingStart(booking == null ? null : booking.getStart());
+        summary.setLastBookingEnd(booking == null ? null : booking.getEnd());
+        summary.setLastBookerId(booking == null ? null : booking.getBookerId());
+    }
+
+    public static void setNextBooking(ItemBookingSummary summary, BookingBriefDto booking) {
+        summary.setNextBookingId(booking == null ? null : booking.getId());
+        summary.setNextBookingStart(booking == null ? null : booking.getStart());
+        summary.setNextBookingEnd(booking == null ? null : booking.getEnd());
+        summary.setNextBookerId(booking == null ? null : booking.getBookerId());
+    }
+}
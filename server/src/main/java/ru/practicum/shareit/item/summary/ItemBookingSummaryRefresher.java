@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.lifecycle.BookingPhase;
+import ru.practicum.shareit.booking.lifecycle.BookingPhaseEvent;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps item booking summaries current as time passes: within a tick of the booking
+ * timeline seeing a booking end, and by a periodic sweep for anything it can't see, such
+ * as bookings ended while this instance was down or deleted with their user.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryRefresher {
+    private static final int BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryService summaryService;
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final Set<Long> endedItemIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Called on the timeline's thread, so the refresh itself is left to {@link #refreshEnded()}.
+     */
+    @EventListener
+    public void onBookingPhase(BookingPhaseEvent event) {
+        if (event.getPhase() == BookingPhase.ENDED) {
+            endedItemIds.add(event.getItemId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.lifecycle.tick:PT1S}")
+    public void refreshEnded() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Iterator<Long> iterator = endedItemIds.iterator(); iterator.hasNext(); ) {
+            Long itemId = iterator.next();
+            iterator.remove();
+            try {
+                summaryService.refresh(itemId, now);
+            } catch (RuntimeException e) {
+                log.warn("booking summary of item {} can't be refreshed", itemId, e);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${shareit.item.booking-summary.refresh-interval:PT1M}",
+            fixedDelayString = "${shareit.item.booking-summary.refresh-interval:PT1M}")
+    public void refreshAll() {
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0;
+        int refreshed = 0;
+        List<Long> itemIds;
+        do {
+            itemIds = summaryRepository.findItemIdsToRefresh(now, afterId, PageRequest.of(0, BATCH_SIZE));
+            for (Long itemId : itemIds) {
+                try {
+                    summaryService.refresh(itemId, now);
+                    refreshed++;
+                } catch (RuntimeException e) {
+                    log.warn("booking summary of item {} can't be refreshed", itemId, e);
+                }
+                afterId = itemId;
+            }
+        } while (itemIds.size() == BATCH_SIZE);
+        if (refreshed > 0) {
+            log.info("{} item booking summaries refreshed", refreshed);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.summary;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemBookingSummary s where s.itemId = ?1")
+    Optional<ItemBookingSummary> lockByItemId(Long itemId);
+
+    List<ItemBookingSummary> findAllByItemIdIn(Collection<Long> itemIds);
+
+    /**
+     * Items whose next booking has ended, or whose last or next booking was deleted.
+     */
+    @Query("select s.itemId from ItemBookingSummary s where s.itemId > :afterId and (s.nextBookingEnd < :now " +
+            "or (s.lastBookingId is null and s.lastBookingEnd is not null) " +
+            "or (s.nextBookingId is null and s.nextBookingEnd is not null)) order by s.itemId")
+    List<Long> findItemIdsToRefresh(@Param("now") LocalDateTime now,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+}
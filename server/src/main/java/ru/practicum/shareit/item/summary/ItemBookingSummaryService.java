@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Runs in the approving transaction; the summary row stays locked until it commits,
+     * so approvals of one item apply one after another.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onApproved(BookingBriefDto booking, LocalDateTime now) {
+        ItemBookingSummary summary = summaryRepository.lockByItemId(booking.getItemId())
+                .orElseGet(() -> summaryRepository.saveAndFlush(new ItemBookingSummary(booking.getItemId())));
+        if (booking.getEnd().isBefore(now)) {
+            if (summary.getLastBookingEnd() == null || booking.getEnd().isAfter(summary.getLastBookingEnd())) {
+                ItemBookingSummaryMapper.setLastBooking(summary, booking);
+            }
+        } else if (summary.getNextBookingEnd() == null || booking.getEnd().isBefore(summary.getNextBookingEnd())) {
+            ItemBookingSummaryMapper.setNextBooking(summary, booking);
+        }
+        summary.setUpdatedAt(now);
+    }
+
+    /**
+     * Once the next booking has ended, both pointers are looked up again from the booking table,
+     * as are pointers to deleted bookings.
+     */
+    @Transactional
+    public void refresh(Long itemId, LocalDateTime now) {
+        ItemBookingSummary summary = summaryRepository.lockByItemId(itemId).orElse(null);
+        if (summary == null) {
+            return;
+        }
+        boolean lastLost = summary.getLastBookingId() == null && summary.getLastBookingEnd() != null;
+        boolean nextLost = summary.getNextBookingId() == null && summary.getNextBookingEnd() != null;
+        if (summary.getNextBookingId() != null && summary.getNextBookingEnd().isBefore(now)) {
+            // a late refresh may find bookings after the next one ended too, so last is looked up
+            lastLost = true;
+            nextLost = true;
+        }
+        if (lastLost) {
+            ItemBookingSummaryMapper.setLastBooking(summary, first(bookingRepository.findLastBookingsByItemIds(
+                    List.of(itemId), now, BookingStatus.APPROVED)));
+        }
+        if (nextLost) {
+            ItemBookingSummaryMapper.setNextBooking(summary, first(bookingRepository.findBriefByItemIdAndStatusAndEndAfter(
+                    itemId, BookingStatus.APPROVED, now, PageRequest.of(0, 1))));
+        }
+        summary.setUpdatedAt(now);
+    }
+
+    private static BookingBriefDto first(List<BookingBriefDto> bookings) {
+        return bookings.isEmpty() ? null : bookings.get(0);
+    }
+}
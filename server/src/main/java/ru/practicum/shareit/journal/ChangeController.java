@@ -0,0 +1,31 @@
+package ru.practicum.shareit.journal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.journal.service.ChangeJournal;
+
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+    private final ChangeJournal changeJournal;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(defaultValue = "0") long since,
+                                                        @RequestParam(defaultValue = "10000") int limit) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> changeJournal.stream(since, limit, out));
+    }
+
+    @GetMapping("/last")
+    public long lastSeq() {
+        return changeJournal.lastSeq();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.journal.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Data;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ChangeRecordDto {
+    private Long seq;
+    private ChangeEntity entity;
+    private Long entityId;
+    private ChangeOperation operation;
+    private LocalDateTime created;
+    @JsonRawValue
+    private String payload;
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.journal.model;
+
+public enum ChangeEntity {
+    ITEM,
+    BOOKING,
+    COMMENT,
+    ITEM_REQUEST
+}
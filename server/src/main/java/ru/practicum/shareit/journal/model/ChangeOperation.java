@@ -0,0 +1,7 @@
+package ru.practicum.shareit.journal.model;
+
+public enum ChangeOperation {
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.journal.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "change_journal")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Position in the feed, null until {@link ru.practicum.shareit.journal.service.ChangeSequencer}
+     * numbers the committed record.
+     */
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ChangeEntity entity;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ChangeOperation operation;
+
+    @Column(length = 4000)
+    private String payload;
+
+    private LocalDateTime created;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.journal.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "change_sequence")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeSequence {
+    @Id
+    private Long id;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+}
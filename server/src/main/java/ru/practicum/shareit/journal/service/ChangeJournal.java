@@ -0,0 +1,19 @@
+package ru.practicum.shareit.journal.service;
+
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeJournal {
+    void record(ChangeEntity entity, Long entityId, ChangeOperation operation, Object payload);
+
+    long lastSeq();
+
+    List<Long> findDeleted(ChangeEntity entity, LocalDateTime since);
+
+    void stream(long since, int limit, OutputStream out) throws IOException;
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.journal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.model.ChangeRecord;
+import ru.practicum.shareit.journal.storage.ChangeRecordRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeJournalImpl implements ChangeJournal {
+    private static final int READ_BATCH_SIZE = 500;
+
+    private final ChangeRecordRepository changeRecordRepository;
+    private final ChangeSequencer changeSequencer;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The record gets its seq from {@link ChangeSequencer} after the transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void record(ChangeEntity entity, Long entityId, ChangeOperation operation, Object payload) {
+        try {
+            changeRecordRepository.save(new ChangeRecord(null, null, entity, entityId, operation,
+                    payload != null ? objectMapper.writeValueAsString(payload) : null, LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("can't serialize " + entity + " " + entityId + " change", e);
+        }
+    }
+
+    @Override
+    public long lastSeq() {
+        return changeSequencer.sequence();
+    }
+
+    /**
+     * Ids of the entities deleted by transactions that recorded the deletion at or after since,
+     * committed or not.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<Long> findDeleted(ChangeEntity entity, LocalDateTime since) {
+        return changeRecordRepository.findEntityIdsByOperationSince(entity, ChangeOperation.DELETE, since);
+    }
+
+    @Override
+    public void stream(long since, int limit, OutputStream out) throws IOException {
+        changeSequencer.sequence();
+        long seq = since;
+        int remaining = limit;
+        while (remaining > 0) {
+            int size = Math.min(remaining, READ_BATCH_SIZE);
+            List<ChangeRecord> batch = changeRecordRepository.findAllBySeqGreaterThanOrderBySeq(seq,
+                    PageRequest.of(0, size));
+            for (ChangeRecord record : batch) {
+                out.write(objectMapper.writeValueAsBytes(ChangeMapper.toChangeRecordDto(record)));
+                out.write('\n');
+                seq = record.getSeq();
+            }
+            out.flush();
+            if (batch.size() < size) {
+                break;
+            }
+            remaining -= size;
+        }
+    }
+}
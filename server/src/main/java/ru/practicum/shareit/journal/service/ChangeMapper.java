@@ -0,0 +1,17 @@
+package ru.practicum.shareit.journal.service;
+
+import ru.practicum.shareit.journal.dto.ChangeRecordDto;
+import ru.practicum.shareit.journal.model.ChangeRecord;
+
+public class ChangeMapper {
+    public static ChangeRecordDto toChangeRecordDto(ChangeRecord record) {
+        ChangeRecordDto result = new ChangeRecordDto();
+        result.setSeq(record.getSeq());
+        result.setEntity(record.getEntity());
+        result.setEntityId(record.getEntityId());
+        result.setOperation(record.getOperation());
+        result.setCreated(record.getCreated());
+        result.setPayload(record.getPayload());
+        return result;
+    }
+}
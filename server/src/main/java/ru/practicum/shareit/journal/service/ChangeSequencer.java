@@ -0,0 +1,43 @@
+package ru.practicum.shareit.journal.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.journal.model.ChangeRecord;
+import ru.practicum.shareit.journal.model.ChangeSequence;
+import ru.practicum.shareit.journal.storage.ChangeRecordRepository;
+import ru.practicum.shareit.journal.storage.ChangeSequenceRepository;
+
+import java.util.List;
+
+/**
+ * Numbers committed journal records. Writers insert records without a seq and take no shared
+ * lock; a record becomes visible to readers of the feed only once it is committed and numbered
+ * here, under the counter row lock, so the numbers follow commit order and a reader never sees
+ * a gap that is filled in later. Called by the readers before they read.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeSequencer {
+    private static final int BATCH_SIZE = 500;
+
+    private final ChangeRecordRepository changeRecordRepository;
+    private final ChangeSequenceRepository changeSequenceRepository;
+
+    @Transactional
+    public long sequence() {
+        ChangeSequence sequence = changeSequenceRepository.lockJournalSequence();
+        long lastSeq = sequence.getLastSeq();
+        List<ChangeRecord> pending;
+        do {
+            pending = changeRecordRepository.findUnsequenced(PageRequest.of(0, BATCH_SIZE));
+            for (ChangeRecord record : pending) {
+                record.setSeq(++lastSeq);
+            }
+            changeRecordRepository.flush();
+        } while (pending.size() == BATCH_SIZE);
+        sequence.setLastSeq(lastSeq);
+        return lastSeq;
+    }
+}
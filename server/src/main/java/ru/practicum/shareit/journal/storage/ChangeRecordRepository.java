@@ -0,0 +1,27 @@
+package ru.practicum.shareit.journal.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.model.ChangeRecord;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeRecordRepository extends JpaRepository<ChangeRecord, Long> {
+    List<ChangeRecord> findAllBySeqGreaterThanOrderBySeq(Long seq, Pageable pageable);
+
+    List<ChangeRecord> findAllByEntityAndSeqGreaterThanOrderBySeq(ChangeEntity entity, Long seq, Pageable pageable);
+
+    @Query("select r from ChangeRecord r where r.seq is null order by r.id")
+    List<ChangeRecord> findUnsequenced(Pageable pageable);
+
+    @Query("select r.entityId from ChangeRecord r " +
+            "where r.entity = :entity and r.operation = :operation and r.created >= :since")
+    List<Long> findEntityIdsByOperationSince(@Param("entity") ChangeEntity entity,
+                                            @Param("operation") ChangeOperation operation,
+                                            @Param("since") LocalDateTime since);
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.journal.storage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.journal.model.ChangeSequence;
+
+import javax.persistence.LockModeType;
+
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, Long> {
+    long JOURNAL_SEQUENCE_ID = 1L;
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ChangeSequence s where s.id = " + JOURNAL_SEQUENCE_ID)
+    ChangeSequence lockJournalSequence();
+}
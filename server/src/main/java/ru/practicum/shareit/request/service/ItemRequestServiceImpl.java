@@ -9,6 +9,9 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.item.service.ItemMapper;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.service.ChangeJournal;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
@@ -29,6 +32,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRepository itemRepository;
 
+    private final ChangeJournal changeJournal;
+
     @Transactional
     @Override
     public ItemRequestDto create(Long userId, ItemRequestDto itemRequestDto) {
@@ -38,8 +43,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         itemRequest.setCreated(LocalDateTime.now());
         itemRequest.setRequestor(user);
         itemRequestRepository.save(itemRequest);
+        ItemRequestDto savedItemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+        changeJournal.record(ChangeEntity.ITEM_REQUEST, itemRequest.getId(), ChangeOperation.CREATE,
+                savedItemRequestDto);
 
-        return ItemRequestMapper.toItemRequestDto(itemRequest);
+        return savedItemRequestDto;
     }
 
     @Transactional(readOnly = true)
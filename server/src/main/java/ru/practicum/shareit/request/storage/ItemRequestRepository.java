@@ -1,17 +1,20 @@
 package ru.practicum.shareit.request.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequestorIdOrderByCreatedAsc(Long userId);
+    @Query("select r from ItemRequest r where r.requestor.id = :userId order by r.created")
+    List<ItemRequest> findAllByRequestorIdOrderByCreatedAsc(@Param("userId") Long userId);
 
-    Page<ItemRequest> findAllByRequestorNotLikeOrderByCreatedAsc(User user, Pageable pageable);
+    List<ItemRequest> findAllByRequestorIsNot(User user, Pageable pageable);
 
-    Page<ItemRequest> findAllByRequestorIsNot(User user, Pageable pageable);
+    @Query("select r.id from ItemRequest r where r.requestor.id = :userId")
+    List<Long> findIdsRemovedWithUser(@Param("userId") Long userId);
 }
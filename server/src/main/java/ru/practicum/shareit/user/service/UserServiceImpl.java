@@ -2,9 +2,20 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.service.BookingRemovedEvent;
+import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.service.ItemRemovedEvent;
+import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.service.ChangeJournal;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserDto;
 import ru.practicum.shareit.user.storage.UserRepository;
@@ -16,6 +27,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ChangeJournal changeJournal;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @Override
@@ -48,10 +65,24 @@ public class UserServiceImpl implements UserService {
         return user;
     }
 
+    /**
+     * The database removes the user's items, bookings, comments and requests by cascade; the
+     * removals are journaled and announced here, since no entity listener sees them.
+     */
     @Transactional
     @Override
     public void delete(long userId) {
+        List<Long> itemIds = itemRepository.findIdsRemovedWithUser(userId);
+        List<Long> bookingIds = bookingRepository.findIdsRemovedWithUser(userId);
+        List<BookingPeriodView> bookings = bookingIds.isEmpty() ? List.of() : bookingRepository.findPeriodsByIdIn(bookingIds);
+        recordDeleted(ChangeEntity.COMMENT, commentRepository.findIdsRemovedWithUser(userId));
+        recordDeleted(ChangeEntity.BOOKING, bookingIds);
+        recordDeleted(ChangeEntity.ITEM, itemIds);
+        recordDeleted(ChangeEntity.ITEM_REQUEST, itemRequestRepository.findIdsRemovedWithUser(userId));
         userRepository.deleteById(userId);
+        bookings.forEach(booking -> eventPublisher.publishEvent(new BookingRemovedEvent(booking.getId(),
+                booking.getItemId())));
+        itemIds.forEach(itemId -> eventPublisher.publishEvent(new ItemRemovedEvent(itemId)));
     }
 
     @Transactional(readOnly = true)
@@ -59,4 +90,8 @@ public class UserServiceImpl implements UserService {
     public List<User> getAll() {
         return userRepository.findAll();
     }
+
+    private void recordDeleted(ChangeEntity entity, List<Long> ids) {
+        ids.forEach(id -> changeJournal.record(entity, id, ChangeOperation.DELETE, null));
+    }
 }
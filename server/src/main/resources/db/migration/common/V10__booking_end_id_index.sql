@@ -0,0 +1,2 @@
+DROP INDEX ix_booking_end;
+CREATE INDEX ix_booking_end ON booking (end_date, id);
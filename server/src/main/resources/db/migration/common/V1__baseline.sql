@@ -0,0 +1,103 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_user PRIMARY KEY (id),
+    CONSTRAINT uq_user_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS requests (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    requestor_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
+    created TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_request PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_requests_requestor_created ON requests (requestor_id, created);
+
+CREATE TABLE IF NOT EXISTS items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    is_available BOOLEAN,
+    owner_id BIGINT REFERENCES users (id) ON DELETE CASCADE NOT NULL,
+    request_id BIGINT REFERENCES requests (id) ON DELETE CASCADE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_item PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_items_updated_at ON items (updated_at);
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+
+CREATE TABLE IF NOT EXISTS booking (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id BIGINT REFERENCES items (id) ON DELETE CASCADE NOT NULL,
+    booker_id BIGINT REFERENCES users(id) ON DELETE CASCADE NOT NULL,
+    owner_id BIGINT REFERENCES users(id) ON DELETE CASCADE NOT NULL,
+    status VARCHAR(20),
+    version BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_booking PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_booking_status_start ON booking (status, start_date);
+CREATE INDEX IF NOT EXISTS ix_booking_owner_start ON booking (owner_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS ix_booking_booker_start ON booking (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS ix_booking_item_status_end ON booking (item_id, status, end_date);
+
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+    item_id BIGINT REFERENCES items (id) ON DELETE CASCADE NOT NULL,
+    last_booking_id BIGINT REFERENCES booking (id) ON DELETE SET NULL,
+    last_booking_start TIMESTAMP WITHOUT TIME ZONE,
+    last_booking_end TIMESTAMP WITHOUT TIME ZONE,
+    last_booker_id BIGINT,
+    next_booking_id BIGINT REFERENCES booking (id) ON DELETE SET NULL,
+    next_booking_start TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_end TIMESTAMP WITHOUT TIME ZONE,
+    next_booker_id BIGINT,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_item_booking_summary_next_end ON item_booking_summary (next_booking_end);
+
+CREATE TABLE IF NOT EXISTS comments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    text VARCHAR(500) NOT NULL,
+    item_id BIGINT REFERENCES items (id) ON DELETE CASCADE NOT NULL,
+    author_id BIGINT REFERENCES users (id) ON DELETE CASCADE  NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_comments PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_comments_item ON comments (item_id);
+CREATE INDEX IF NOT EXISTS ix_comments_author ON comments (author_id);
+
+CREATE TABLE IF NOT EXISTS change_journal (
+    seq BIGINT NOT NULL,
+    entity VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation VARCHAR(20) NOT NULL,
+    payload VARCHAR(4000),
+    created TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_change_journal PRIMARY KEY (seq)
+);
+
+CREATE INDEX IF NOT EXISTS ix_change_journal_entity_seq ON change_journal (entity, seq);
+
+CREATE TABLE IF NOT EXISTS change_sequence (
+    id BIGINT NOT NULL,
+    last_seq BIGINT NOT NULL,
+    CONSTRAINT pk_change_sequence PRIMARY KEY (id)
+);
+
+INSERT INTO change_sequence (id, last_seq) VALUES (1, 0);
+
+CREATE TABLE IF NOT EXISTS outbox_relay (
+    sink VARCHAR(64) NOT NULL,
+    last_seq BIGINT NOT NULL,
+    CONSTRAINT pk_outbox_relay PRIMARY KEY (sink)
+);
@@ -0,0 +1 @@
+CREATE INDEX ix_booking_end ON booking (end_date);
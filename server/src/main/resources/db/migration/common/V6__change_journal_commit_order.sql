@@ -0,0 +1,7 @@
+-- journal rows are inserted under an identity key without any shared lock; the public seq is
+-- assigned after commit by ChangeSequencer, so it follows commit order
+ALTER TABLE change_journal ADD COLUMN id BIGINT GENERATED BY DEFAULT AS IDENTITY;
+ALTER TABLE change_journal DROP CONSTRAINT pk_change_journal;
+ALTER TABLE change_journal ADD CONSTRAINT pk_change_journal PRIMARY KEY (id);
+ALTER TABLE change_journal ALTER COLUMN seq DROP NOT NULL;
+CREATE UNIQUE INDEX ux_change_journal_seq ON change_journal (seq);
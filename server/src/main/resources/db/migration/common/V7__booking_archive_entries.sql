@@ -0,0 +1,11 @@
+-- which archive segments hold bookings of a user, as owner or booker, so lookups read those only
+CREATE TABLE IF NOT EXISTS booking_archive_entries (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id BIGINT NOT NULL,
+    role VARCHAR(10) NOT NULL,
+    segment VARCHAR(64) NOT NULL,
+    newest_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_booking_archive_entries PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_booking_archive_entries_user ON booking_archive_entries (user_id, role, newest_start DESC);
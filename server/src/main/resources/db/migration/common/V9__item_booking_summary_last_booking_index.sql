@@ -0,0 +1 @@
+CREATE INDEX ix_item_booking_summary_last_booking ON item_booking_summary (last_booking_id);
@@ -0,0 +1,13 @@
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+    GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_items_search_vector ON items USING GIN (search_vector) WHERE is_available;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE booking ADD CONSTRAINT ex_booking_approved_overlap
+    EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = 'APPROVED');
+
+CREATE INDEX IF NOT EXISTS ix_booking_approved_item_end ON booking (item_id, end_date) WHERE status = 'APPROVED';
+
+CREATE INDEX IF NOT EXISTS ix_booking_waiting_start ON booking (start_date, id) WHERE status = 'WAITING';
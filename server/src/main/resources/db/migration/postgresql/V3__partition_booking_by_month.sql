@@ -0,0 +1,85 @@
+ALTER TABLE item_booking_summary DROP CONSTRAINT IF EXISTS item_booking_summary_last_booking_id_fkey;
+ALTER TABLE item_booking_summary DROP CONSTRAINT IF EXISTS item_booking_summary_next_booking_id_fkey;
+
+ALTER TABLE booking RENAME TO booking_unpartitioned;
+ALTER TABLE booking_unpartitioned RENAME CONSTRAINT pk_booking TO pk_booking_unpartitioned;
+
+-- identity columns are not allowed on partitioned tables before PostgreSQL 17
+CREATE SEQUENCE booking_seq;
+
+CREATE TABLE booking (
+    id BIGINT DEFAULT nextval('booking_seq') NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id BIGINT REFERENCES items (id) ON DELETE CASCADE NOT NULL,
+    booker_id BIGINT REFERENCES users(id) ON DELETE CASCADE NOT NULL,
+    owner_id BIGINT REFERENCES users(id) ON DELETE CASCADE NOT NULL,
+    status VARCHAR(20),
+    version BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_booking PRIMARY KEY (id, start_date)
+) PARTITION BY RANGE (start_date);
+
+ALTER SEQUENCE booking_seq OWNED BY booking.id;
+
+CREATE TABLE booking_default PARTITION OF booking DEFAULT;
+
+-- exclusion constraints cannot be declared on a partitioned table, so every partition carries its own;
+-- overlaps across a month boundary are rejected by BookingServiceImpl.approve
+ALTER TABLE booking_default ADD CONSTRAINT ex_booking_default_approved_overlap
+    EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = 'APPROVED');
+
+-- Creates the partition for the month containing month_start unless it exists. Rows of that month that
+-- already landed in the default partition are moved into the new table before it is attached.
+CREATE OR REPLACE FUNCTION create_booking_partition(month_start DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    range_from TIMESTAMP := date_trunc('month', month_start::TIMESTAMP);
+    range_to TIMESTAMP := date_trunc('month', month_start::TIMESTAMP) + INTERVAL '1 month';
+    partition_name TEXT := 'booking_p' || to_char(month_start, 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE booking INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING GIST '
+                       || '(item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = ''APPROVED'')',
+                   partition_name, 'ex_' || partition_name || '_approved_overlap');
+    EXECUTE format('WITH moved AS (DELETE FROM booking_default WHERE start_date >= %L AND start_date < %L '
+                       || 'RETURNING *) INSERT INTO %I SELECT * FROM moved', range_from, range_to, partition_name);
+    EXECUTE format('ALTER TABLE booking ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_from, range_to);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    partition_month DATE := date_trunc('month', LEAST(LOCALTIMESTAMP,
+        (SELECT MIN(start_date) FROM booking_unpartitioned)));
+BEGIN
+    WHILE partition_month <= date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months' LOOP
+        PERFORM create_booking_partition(partition_month);
+        partition_month := partition_month + INTERVAL '1 month';
+    END LOOP;
+END;
+$$;
+
+INSERT INTO booking (id, start_date, end_date, item_id, booker_id, owner_id, status, version)
+SELECT id, start_date, end_date, item_id, booker_id, owner_id, status, version FROM booking_unpartitioned;
+
+SELECT setval('booking_seq', COALESCE((SELECT MAX(id) FROM booking), 0) + 1, FALSE);
+
+DROP TABLE booking_unpartitioned;
+
+CREATE INDEX ix_booking_status_start ON booking (status, start_date);
+CREATE INDEX ix_booking_owner_start ON booking (owner_id, start_date DESC);
+CREATE INDEX ix_booking_booker_start ON booking (booker_id, start_date DESC);
+CREATE INDEX ix_booking_item_status_end ON booking (item_id, status, end_date);
+CREATE INDEX ix_booking_approved_item_end ON booking (item_id, end_date) WHERE status = 'APPROVED';
+CREATE INDEX ix_booking_waiting_start ON booking (start_date, id) WHERE status = 'WAITING';
+
+-- a foreign key to a partitioned table must cover its partition key; deleting the booking clears
+-- id and start, and ItemBookingSummaryService.refresh looks the pointer up again
+ALTER TABLE item_booking_summary ADD CONSTRAINT fk_item_booking_summary_last_booking
+    FOREIGN KEY (last_booking_id, last_booking_start) REFERENCES booking (id, start_date) ON DELETE SET NULL;
+ALTER TABLE item_booking_summary ADD CONSTRAINT fk_item_booking_summary_next_booking
+    FOREIGN KEY (next_booking_id, next_booking_start) REFERENCES booking (id, start_date) ON DELETE SET NULL;
@@ -0,0 +1,6 @@
+-- WAITING and REJECTED listings filter on status only, so their rows are spread over the whole
+-- owner and booker indexes; these keep just the matching rows in start order
+CREATE INDEX ix_booking_owner_waiting_start ON booking (owner_id, start_date DESC) WHERE status = 'WAITING';
+CREATE INDEX ix_booking_owner_rejected_start ON booking (owner_id, start_date DESC) WHERE status = 'REJECTED';
+CREATE INDEX ix_booking_booker_waiting_start ON booking (booker_id, start_date DESC) WHERE status = 'WAITING';
+CREATE INDEX ix_booking_booker_rejected_start ON booking (booker_id, start_date DESC) WHERE status = 'REJECTED';
@@ -1,9 +1,15 @@
 package ru.practicum.shareit;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.exceptions.*;
 
+import java.sql.SQLException;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -37,6 +43,15 @@ public class ExceptionsHandlerTest {
         assertEquals(errorResponse.getError(), e.getMessage());
     }
 
+    @Test
+    @DisplayName("Тест ошибки пересечения с подтвержденным бронированием")
+    public void approvedOverlapExceptionTest() {
+        BookingOverlapException e = new BookingOverlapException("booking overlap");
+        ErrorResponse errorResponse = handler.bookingOverlapException(e);
+        assertNotNull(errorResponse);
+        assertEquals(errorResponse.getError(), e.getMessage());
+    }
+
     @Test
     @DisplayName("Тест ошибки HttpStatus.BAD_REQUEST")
     public void badRequestExceptionTest() {
@@ -54,4 +69,28 @@ public class ExceptionsHandlerTest {
         assertNotNull(errorResponse);
         assertEquals(errorResponse.getError(), e.getMessage());
     }
+
+    @Test
+    @DisplayName("Тест ошибки пересечения подтвержденных бронирований")
+    public void bookingOverlapExceptionTest() {
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01"),
+                        "ex_booking_approved_overlap"));
+        ResponseEntity<ErrorResponse> response = handler.dataIntegrityViolationException(e);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+    }
+
+    @Test
+    @DisplayName("Тест прочих ошибок целостности данных")
+    public void dataIntegrityViolationExceptionTest() {
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint", "23505"),
+                        "uq_user_email"));
+        ResponseEntity<ErrorResponse> response = handler.dataIntegrityViolationException(e);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(e.getMessage(), response.getBody().getError());
+    }
 }
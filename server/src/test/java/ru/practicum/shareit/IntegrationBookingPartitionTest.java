@@ -0,0 +1,202 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.partition.BookingPartitionMaintainer;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingState;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingSpecifications;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
+
+import java.sql.Date;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the PostgreSQL migrations, including the monthly booking partitions, against {@link PostgresTestDatabase}
+ * and checks the listings prune partitions and approvals stay exclusive across a month boundary.
+ */
+@EnabledIf("ru.practicum.shareit.PostgresTestDatabase#available")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ru.practicum.shareit.RecordingStatementInspector",
+        "shareit.booking.partition.enabled=true",
+        "shareit.booking.expiry.enabled=false"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationBookingPartitionTest {
+    private static final Pattern PARTITION = Pattern.compile("booking_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingPartitionMaintainer partitionMaintainer;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void seed() {
+        flyway.clean();
+        flyway.migrate();
+        LocalDate today = LocalDate.now();
+        for (int month = -3; month < 0; month++) {
+            jdbcTemplate.queryForObject("SELECT create_booking_partition(?)", Boolean.class,
+                    Date.valueOf(today.withDayOfMonth(1).plusMonths(month)));
+        }
+        partitionMaintainer.ensurePartitions(today);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@pruning.ru'), " +
+                "(2, 'booker', 'booker@pruning.ru')");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) " +
+                "VALUES (1, 'item', 'description', TRUE, 1)");
+        LocalDateTime now = LocalDateTime.now();
+        for (int day = -90; day <= 90; day += 3) {
+            jdbcTemplate.update("INSERT INTO booking (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                    "VALUES (?, ?, 1, 2, 1, 'WAITING')", Timestamp.valueOf(now.plusDays(day)),
+                    Timestamp.valueOf(now.plusDays(day).plusHours(1)));
+        }
+        jdbcTemplate.execute("ANALYZE booking");
+    }
+
+    @Test
+    @DisplayName("Тест на отсечение партиций букингов в запросах по времени")
+    void timeFilteredListingsPrunePartitionsTest() {
+        LocalDateTime now = LocalDateTime.now();
+        YearMonth current = YearMonth.from(now);
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "start"));
+        Predicate<YearMonth> notAfterNow = month -> !month.isAfter(current);
+        Predicate<YearMonth> notBeforeNow = month -> !month.isBefore(current);
+
+        Map<String, Case> cases = new LinkedHashMap<>();
+        cases.put("owner PAST", new Case(() -> bookingRepository
+                .findSlice(BookingSpecifications.ofOwner(1L, BookingState.PAST, now), page), notAfterNow, now));
+        cases.put("owner CURRENT", new Case(() -> bookingRepository
+                .findSlice(BookingSpecifications.ofOwner(1L, BookingState.CURRENT, now), page), notAfterNow, now));
+        cases.put("owner FUTURE", new Case(() -> bookingRepository
+                .findSlice(BookingSpecifications.ofOwner(1L, BookingState.FUTURE, now), page), notBeforeNow, now));
+        cases.put("booker PAST", new Case(() -> bookingRepository
+                .findSlice(BookingSpecifications.ofBooker(2L, BookingState.PAST, now), page), notAfterNow, now));
+        cases.put("booker CURRENT", new Case(() -> bookingRepository
+                .findSlice(BookingSpecifications.ofBooker(2L, BookingState.CURRENT, now), page), notAfterNow, now));
+        cases.put("booker FUTURE", new Case(() -> bookingRepository
+                .findSlice(BookingSpecifications.ofBooker(2L, BookingState.FUTURE, now), page), notBeforeNow, now));
+
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Case> entry : cases.entrySet()) {
+            Case finder = entry.getValue();
+            List<String> statements = RecordingStatementInspector.record(finder.query);
+            assertFalse(statements.isEmpty(), entry.getKey() + " issued no statements");
+            for (String sql : statements) {
+                String plan = explain(sql, finder.now);
+                Matcher partition = PARTITION.matcher(plan);
+                while (partition.find()) {
+                    YearMonth month = YearMonth.parse(partition.group(1), PARTITION_MONTH);
+                    if (!finder.reachable.test(month)) {
+                        violations.add(entry.getKey() + " reads partition for " + month + ":\n" + plan);
+                        break;
+                    }
+                }
+            }
+        }
+        assertTrue(violations.isEmpty(), String.join("\n\n", violations));
+    }
+
+    @Test
+    @DisplayName("Тест на отклонение пересекающегося подтверждения в соседней партиции")
+    void crossPartitionOverlapRejectedTest() {
+        LocalDateTime nextMonth = YearMonth.now().plusMonths(1).atDay(1).atStartOfDay();
+        Long approved = insert(nextMonth.minusHours(4), nextMonth.plusHours(4), "APPROVED");
+        Long waiting = insert(nextMonth.plusHours(2), nextMonth.plusHours(6), "WAITING");
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.approve(waiting, 1L, true));
+        assertEquals("WAITING", jdbcTemplate.queryForObject("SELECT status FROM booking WHERE id = ?",
+                String.class, waiting));
+        assertEquals("APPROVED", jdbcTemplate.queryForObject("SELECT status FROM booking WHERE id = ?",
+                String.class, approved));
+    }
+
+    private Long insert(LocalDateTime start, LocalDateTime end, String status) {
+        return jdbcTemplate.queryForObject("INSERT INTO booking (start_date, end_date, item_id, booker_id, owner_id, " +
+                "status) VALUES (?, ?, 1, 2, 1, ?) RETURNING id", Long.class, Timestamp.valueOf(start),
+                Timestamp.valueOf(end), status);
+    }
+
+    /**
+     * Binds the time parameters to the listing's now; the remaining ones are the page limit.
+     */
+    private String explain(String sql, LocalDateTime now) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+            ParameterMetaData parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                if (parameters.getParameterType(i) == Types.TIMESTAMP) {
+                    statement.setTimestamp(i, Timestamp.valueOf(now));
+                } else {
+                    statement.setInt(i, PAGE_SIZE);
+                }
+            }
+            return statement;
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+
+    private static class Case {
+        private final Runnable query;
+        private final Predicate<YearMonth> reachable;
+        private final LocalDateTime now;
+
+        Case(Runnable query, Predicate<YearMonth> reachable, LocalDateTime now) {
+            this.query = query;
+            this.reachable = reachable;
+            this.now = now;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.partition.BookingPartitionMaintainer;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the finders of {@link IntegrationQueryPlanTest} against {@link PostgresTestDatabase}, with its partial
+ * indexes and the partitioned booking table, and explains each statement with the parameters the application
+ * bound. Sequential scans are disabled while explaining, so one left in the plan means no index can serve it;
+ * it is only tolerated on tables holding no more than {@link #SCAN_THRESHOLD} rows.
+ */
+@EnabledIf("ru.practicum.shareit.PostgresTestDatabase#available")
+@SpringBootTest(properties = {
+        "shareit.booking.partition.enabled=true",
+        "shareit.booking.expiry.enabled=false"})
+@Import({RepositoryFinders.class, RecordingDataSource.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationPostgresQueryPlanTest {
+    private static final int SCAN_THRESHOLD = 100;
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookingPartitionMaintainer partitionMaintainer;
+
+    @Autowired
+    private RepositoryFinders repositoryFinders;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void seed() {
+        flyway.clean();
+        flyway.migrate();
+        partitionMaintainer.ensurePartitions(LocalDate.now());
+        repositoryFinders.seed();
+    }
+
+    @Test
+    @DisplayName("Тест на использование индексов PostgreSQL в запросах репозиториев")
+    void findersUseIndexesTest() {
+        List<String> violations = new ArrayList<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Map.Entry<String, Runnable> finder : repositoryFinders.finders(LocalDateTime.now()).entrySet()) {
+            List<RecordingDataSource.Statement> statements = RecordingDataSource.record(() ->
+                    transactionTemplate.executeWithoutResult(status -> {
+                        finder.getValue().run();
+                        status.setRollbackOnly();
+                    }));
+            assertFalse(statements.isEmpty(), finder.getKey() + " issued no statements");
+            for (RecordingDataSource.Statement statement : statements) {
+                String plan = explain(statement);
+                Matcher scan = SEQ_SCAN.matcher(plan);
+                while (scan.find()) {
+                    String table = scan.group(1);
+                    Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+                    if (rows != null && rows > SCAN_THRESHOLD) {
+                        violations.add(finder.getKey() + " scans " + table + " (" + rows + " rows):\n" + plan);
+                    }
+                }
+            }
+        }
+        assertTrue(violations.isEmpty(), String.join("\n\n", violations));
+    }
+
+    private String explain(RecordingDataSource.Statement recorded) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement settings = connection.createStatement()) {
+                settings.execute("SET enable_seqscan = off");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + recorded.getSql())) {
+                recorded.bind(statement);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                try (Statement settings = connection.createStatement()) {
+                    settings.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every repository finder, captures the SQL Hibernate sends and checks its H2 plan: a table scan
+ * is only tolerated on tables holding no more than {@link #SCAN_THRESHOLD} rows. The PostgreSQL-only
+ * indexes are checked by {@link IntegrationPostgresQueryPlanTest}.
+ */
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ru.practicum.shareit.RecordingStatementInspector",
+        "shareit.booking.expiry.enabled=false"})
+@Import(RepositoryFinders.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationQueryPlanTest {
+    private static final int SCAN_THRESHOLD = 100;
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RepositoryFinders repositoryFinders;
+
+    @BeforeEach
+    void seed() {
+        repositoryFinders.seed();
+    }
+
+    @Test
+    @DisplayName("Тест на отсутствие полного сканирования больших таблиц в запросах репозиториев")
+    void findersUseIndexesTest() {
+        List<String> violations = new ArrayList<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Map.Entry<String, Runnable> finder : repositoryFinders.finders(LocalDateTime.now()).entrySet()) {
+            List<String> statements = RecordingStatementInspector.record(() ->
+                    transactionTemplate.executeWithoutResult(status -> {
+                        finder.getValue().run();
+                        status.setRollbackOnly();
+                    }));
+            assertFalse(statements.isEmpty(), finder.getKey() + " issued no statements");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                Matcher scan = TABLE_SCAN.matcher(plan);
+                while (scan.find()) {
+                    String table = scan.group(1);
+                    Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+                    if (rows != null && rows > SCAN_THRESHOLD) {
+                        violations.add(finder.getKey() + " scans " + table + " (" + rows + " rows):\n" + plan);
+                    }
+                }
+            }
+        }
+        assertTrue(violations.isEmpty(), String.join("\n\n", violations));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            return statement;
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+            return plan.toString();
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@AutoConfigureTestDatabase
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationSchemaMigrationTest {
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @DisplayName("Тест на повторный запуск миграций без изменения схемы и потери данных")
+    void repeatedMigrationTest() {
+        User user = userService.create(new User(null, "user", "user@migration.ru"));
+
+        MigrateResult result = flyway.migrate();
+
+        assertEquals(0, result.migrationsExecuted);
+        assertNotNull(flyway.info().current());
+        assertEquals(user.getName(), userService.findById(user.getId()).getName());
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PostgreSQL for the tests that depend on its migrations: the database in SHAREIT_TEST_POSTGRES_URL when set
+ * (it is wiped by the tests), otherwise a container of the docker-compose image started once per run.
+ * Tests guarded by {@link #available()} are skipped when there is neither.
+ */
+public final class PostgresTestDatabase {
+    private static final String URL = System.getenv("SHAREIT_TEST_POSTGRES_URL");
+
+    private static PostgreSQLContainer<?> container;
+
+    private PostgresTestDatabase() {
+    }
+
+    public static boolean available() {
+        return URL != null && !URL.isBlank() || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        properties().forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    public static Map<String, String> properties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.driverClassName", "org.postgresql.Driver");
+        properties.put("spring.flyway.clean-disabled", "false");
+        if (URL != null && !URL.isBlank()) {
+            properties.put("spring.datasource.url", URL);
+            properties.put("spring.datasource.username", env("SHAREIT_TEST_POSTGRES_USER", "root"));
+            properties.put("spring.datasource.password", env("SHAREIT_TEST_POSTGRES_PASSWORD", "password"));
+            return properties;
+        }
+        PostgreSQLContainer<?> postgres = container();
+        properties.put("spring.datasource.url", postgres.getJdbcUrl());
+        properties.put("spring.datasource.username", postgres.getUsername());
+        properties.put("spring.datasource.password", postgres.getPassword());
+        return properties;
+    }
+
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:13.7-alpine");
+            container.start();
+        }
+        return container;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,133 @@
+package ru.practicum.shareit;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wraps the application data source to collect the prepared statements run through it together with
+ * their parameters, for tests that explain queries with the values the application binds: a partial
+ * index is only chosen when the planner sees the literal. Enabled by importing this class.
+ */
+@TestComponent
+public class RecordingDataSource implements BeanPostProcessor {
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "addBatch");
+    private static final List<Statement> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource)) {
+            return bean;
+        }
+        return proxy(DataSource.class, bean, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection ? connection((Connection) result) : result;
+        });
+    }
+
+    /**
+     * Runs the action and returns the statements executed while it ran.
+     */
+    public static List<Statement> record(Runnable action) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        action.run();
+        synchronized (STATEMENTS) {
+            return new ArrayList<>(STATEMENTS);
+        }
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")) {
+                return statement((PreparedStatement) result, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement statement(PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+            if (method.getName().startsWith("set") && args != null && args.length >= 2
+                    && method.getParameterTypes()[0] == int.class) {
+                bindings.add(new Binding(method, args));
+            } else if (method.getName().equals("clearParameters")) {
+                bindings.clear();
+            } else if (EXECUTE.contains(method.getName()) && (args == null || args.length == 0)) {
+                synchronized (STATEMENTS) {
+                    STATEMENTS.add(new Statement(sql, new ArrayList<>(bindings)));
+                }
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface Handler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * An executed statement; {@link #bind} replays its parameters on another statement.
+     */
+    public static class Statement {
+        private final String sql;
+        private final List<Binding> bindings;
+
+        Statement(String sql, List<Binding> bindings) {
+            this.sql = sql;
+            this.bindings = bindings;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.method.invoke(statement, binding.args);
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("cannot replay " + binding.method.getName(), e);
+                }
+            }
+        }
+    }
+
+    private static class Binding {
+        private final Method method;
+        private final Object[] args;
+
+        Binding(Method method, Object[] args) {
+            this.method = method;
+            this.args = args.clone();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.archive.BookingArchiveEntryRepository;
+import ru.practicum.shareit.booking.archive.BookingArchiveRole;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.outbox.OutboxRelayPositionRepository;
+import ru.practicum.shareit.booking.service.BookingState;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingSpecifications;
+import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.storage.ChangeRecordRepository;
+import ru.practicum.shareit.journal.storage.ChangeSequenceRepository;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every repository finder with sample arguments, and the data the query plan tests run them against.
+ * The item text searches are left out: the sql engine's substring match has to read every item and
+ * the full-text one is checked by its GIN index.
+ */
+@TestComponent
+public class RepositoryFinders {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @Autowired
+    private ChangeRecordRepository changeRecordRepository;
+
+    @Autowired
+    private ChangeSequenceRepository changeSequenceRepository;
+
+    @Autowired
+    private OutboxRelayPositionRepository outboxRelayPositionRepository;
+
+    @Autowired
+    private BookingArchiveEntryRepository bookingArchiveEntryRepository;
+
+    /**
+     * 200 users and requests, 400 items, 2000 bookings over the next five days and a comment, summary,
+     * journal row and archive entry per item, booking or user.
+     */
+    public void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            users.add(new Object[]{"user" + i, "user" + i + "@plan.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", users);
+        jdbcTemplate.update("INSERT INTO requests (description, requestor_id, created) " +
+                "SELECT 'request ' || id, id, ? FROM users", Timestamp.valueOf(now));
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id, request_id) " +
+                "SELECT 'item ' || id, 'description', TRUE, requestor_id, id FROM requests");
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                "SELECT 'spare ' || id, 'description', TRUE, owner_id FROM items");
+        for (int shift = 1; shift <= 5; shift++) {
+            jdbcTemplate.update("INSERT INTO booking (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                            "SELECT ?, ?, i.id, MOD(i.id + ?, 200) + 1, i.owner_id, ? FROM items i",
+                    Timestamp.valueOf(now.plusDays(shift)), Timestamp.valueOf(now.plusDays(shift).plusHours(1)), shift,
+                    BookingStatus.values()[shift % BookingStatus.values().length].name());
+        }
+        jdbcTemplate.update("INSERT INTO comments (text, item_id, author_id, created) " +
+                "SELECT 'comment', i.id, i.owner_id, ? FROM items i", Timestamp.valueOf(now));
+        jdbcTemplate.update("INSERT INTO item_booking_summary (item_id, last_booking_start, updated_at) " +
+                "SELECT id, ?, ? FROM items", Timestamp.valueOf(now), Timestamp.valueOf(now));
+        jdbcTemplate.update("INSERT INTO change_journal (seq, entity, entity_id, operation, created) " +
+                "SELECT CASE WHEN MOD(id, 100) = 0 THEN NULL ELSE id END, 'BOOKING', id, 'CREATE', ? FROM booking",
+                Timestamp.valueOf(now));
+        for (BookingArchiveRole role : BookingArchiveRole.values()) {
+            jdbcTemplate.update("INSERT INTO booking_archive_entries (user_id, role, segment, newest_start) " +
+                    "SELECT id, ?, 'segment', ? FROM users", role.name(), Timestamp.valueOf(now));
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    public Map<String, Runnable> finders(LocalDateTime now) {
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+        User requestor = new User(1L, "user1", "user1@plan.ru");
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        for (BookingState state : EnumSet.range(BookingState.ALL, BookingState.REJECTED)) {
+            finders.put("owner " + state, () -> bookingRepository
+                    .findSlice(BookingSpecifications.ofOwner(1L, state, now), page));
+            finders.put("booker " + state, () -> bookingRepository
+                    .findSlice(BookingSpecifications.ofBooker(1L, state, now), page));
+        }
+        finders.put("findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore", () -> bookingRepository
+                .findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(1L, 1L, BookingStatus.APPROVED, now));
+        finders.put("findLastBookingsByItemIds", () -> bookingRepository
+                .findLastBookingsByItemIds(List.of(1L, 2L), now, BookingStatus.APPROVED));
+        finders.put("findPeriodsByStatusAfter", () -> bookingRepository
+                .findPeriodsByStatusAfter(BookingStatus.APPROVED, 0L, PageRequest.of(0, 10)));
+        finders.put("findPeriodsByItemIdAndStatus", () -> bookingRepository
+                .findPeriodsByItemIdAndStatus(1L, BookingStatus.APPROVED));
+        finders.put("findPeriodsByIdIn", () -> bookingRepository.findPeriodsByIdIn(List.of(1L, 2L)));
+        finders.put("findBriefByStatusAndEndAfter", () -> bookingRepository
+                .findBriefByStatusAndEndAfter(BookingStatus.APPROVED, now, 0L, PageRequest.of(0, 10)));
+        finders.put("findBriefByItemIdAndStatusAndEndAfter", () -> bookingRepository
+                .findBriefByItemIdAndStatusAndEndAfter(1L, BookingStatus.APPROVED, now, PageRequest.of(0, 1)));
+        finders.put("updateStatusIfWaiting", () -> bookingRepository.updateStatusIfWaiting(1L, BookingStatus.APPROVED));
+        finders.put("updateStatus", () -> bookingRepository
+                .updateStatus(List.of(1L, 2L), BookingStatus.WAITING, BookingStatus.CANCELED));
+        finders.put("findIdsByStatusAndStartBefore", () -> bookingRepository
+                .findIdsByStatusAndStartBefore(BookingStatus.WAITING, now, PageRequest.of(0, 10)));
+        finders.put("findAllWithItemByIdInAndStatus", () -> bookingRepository
+                .findAllWithItemByIdInAndStatus(List.of(1L, 2L), BookingStatus.CANCELED));
+        finders.put("existsApprovedOverlap", () -> bookingRepository.existsApprovedOverlap(1L, 1L, now, now));
+        finders.put("findIntervalsByItemIdAndStatusIn", () -> bookingRepository
+                .findIntervalsByItemIdAndStatusIn(1L, List.of(BookingStatus.WAITING, BookingStatus.APPROVED)));
+        finders.put("findArchivable", () -> bookingRepository.findArchivable(now, PageRequest.of(0, 10)));
+        finders.put("deleteAllByIdIn", () -> bookingRepository.deleteAllByIdIn(List.of(1L, 2L)));
+        finders.put("findIdsRemovedWithUser", () -> bookingRepository.findIdsRemovedWithUser(1L));
+        finders.put("ItemRepository.findAllByOwnerId", () -> itemRepository
+                .findAllByOwnerId(1L, PageRequest.of(0, 10, Sort.by("id"))));
+        finders.put("ItemRepository.findAllByOwnerIdOrderByLastBookingDesc", () -> itemRepository
+                .findAllByOwnerIdOrderByLastBookingDesc(1L, PageRequest.of(0, 10)));
+        finders.put("ItemRepository.findAllByRequestId", () -> itemRepository.findAllByRequestId(1L));
+        finders.put("ItemRepository.findSearchViewsAfter", () -> itemRepository
+                .findSearchViewsAfter(100L, PageRequest.of(0, 10)));
+        finders.put("ItemRepository.findSearchViewsUpdatedSinceAfter", () -> itemRepository
+                .findSearchViewsUpdatedSinceAfter(now, 100L, PageRequest.of(0, 10)));
+        finders.put("ItemRepository.findSearchViewsByIdIn", () -> itemRepository
+                .findSearchViewsByIdIn(List.of(100L, 200L)));
+        finders.put("ItemRepository.findIdsRemovedWithUser", () -> itemRepository.findIdsRemovedWithUser(1L));
+        finders.put("CommentRepository.findAllByItemId", () -> commentRepository.findAllByItemId(1L));
+        finders.put("CommentRepository.findAllByItemIdIn", () -> commentRepository.findAllByItemIdIn(List.of(1L, 2L)));
+        finders.put("CommentRepository.findIdsRemovedWithUser", () -> commentRepository.findIdsRemovedWithUser(1L));
+        finders.put("ItemRequestRepository.findAllByRequestorIdOrderByCreatedAsc", () -> itemRequestRepository
+                .findAllByRequestorIdOrderByCreatedAsc(1L));
+        finders.put("ItemRequestRepository.findAllByRequestorIsNot", () -> itemRequestRepository
+                .findAllByRequestorIsNot(requestor, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created"))));
+        finders.put("ItemRequestRepository.findIdsRemovedWithUser", () -> itemRequestRepository
+                .findIdsRemovedWithUser(1L));
+        finders.put("ItemBookingSummaryRepository.lockByItemId", () -> itemBookingSummaryRepository.lockByItemId(1L));
+        finders.put("ItemBookingSummaryRepository.findAllByItemIdIn", () -> itemBookingSummaryRepository
+                .findAllByItemIdIn(List.of(1L, 2L)));
+        finders.put("ItemBookingSummaryRepository.findItemIdsToRefresh", () -> itemBookingSummaryRepository
+                .findItemIdsToRefresh(now, 0L, PageRequest.of(0, 10)));
+        finders.put("ChangeRecordRepository.findAllBySeqGreaterThanOrderBySeq", () -> changeRecordRepository
+                .findAllBySeqGreaterThanOrderBySeq(100L, PageRequest.of(0, 10)));
+        finders.put("ChangeRecordRepository.findAllByEntityAndSeqGreaterThanOrderBySeq", () -> changeRecordRepository
+                .findAllByEntityAndSeqGreaterThanOrderBySeq(ChangeEntity.BOOKING, 100L, PageRequest.of(0, 10)));
+        finders.put("ChangeRecordRepository.findUnsequenced", () -> changeRecordRepository
+                .findUnsequenced(PageRequest.of(0, 10)));
+        finders.put("ChangeRecordRepository.findEntityIdsByOperationSince", () -> changeRecordRepository
+                .findEntityIdsByOperationSince(ChangeEntity.ITEM, ChangeOperation.DELETE, now));
+        finders.put("ChangeSequenceRepository.lockJournalSequence", () -> changeSequenceRepository
+                .lockJournalSequence());
+        finders.put("OutboxRelayPositionRepository.lockBySink", () -> outboxRelayPositionRepository.lockBySink("file"));
+        finders.put("BookingArchiveEntryRepository.findAllByUserIdAndRoleOrderByNewestStartDesc", () ->
+                bookingArchiveEntryRepository.findAllByUserIdAndRoleOrderByNewestStartDesc(1L, BookingArchiveRole.OWNER,
+                        PageRequest.of(0, 10)));
+
+        return finders;
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.ConcurrencyRetry;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Approve throughput with many owners approving their own waiting bookings at once, and
+ * with every booking approved twice concurrently (a double click). Runs the server
+ * against the in-memory test database:
+ * {@code mvn -pl server test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ru.practicum.shareit.booking.BookingApprovalBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class BookingApprovalBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Param({"64"})
+    private int owners;
+
+    @Param({"100000"})
+    private int bookingsPerIteration;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private BookingService bookingService;
+    private ConcurrencyRetry concurrencyRetry;
+    private long bookerId;
+    private long[] bookingIds;
+    private long[] ownerIds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingApprovalBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN", "spring.main.banner-mode=off")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        bookingService = context.getBean(BookingService.class);
+        concurrencyRetry = context.getBean(ConcurrencyRetry.class);
+
+        for (int owner = 0; owner <= owners; owner++) {
+            jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", "user" + owner, "user" + owner + "@bench.ru");
+        }
+        bookerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                "SELECT 'Дрель', 'Простая дрель', TRUE, id FROM users WHERE id <> ?", bookerId);
+    }
+
+    @Setup(Level.Iteration)
+    public void addWaitingBookings() {
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+        List<Object[]> rows = new ArrayList<>(bookingsPerIteration);
+        for (int i = 0; i < bookingsPerIteration; i++) {
+            LocalDateTime start = START.plusHours(i);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(30)), bookerId,
+                    itemIds.get(i % itemIds.size())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO booking (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                "SELECT ?, ?, id, ?, owner_id, 'WAITING' FROM items WHERE id = ?", rows);
+
+        List<long[]> waiting = jdbcTemplate.query("SELECT b.id, i.owner_id FROM booking AS b " +
+                        "JOIN items AS i ON i.id = b.item_id WHERE b.status = 'WAITING' ORDER BY b.id",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        bookingIds = waiting.stream().mapToLong(row -> row[0]).toArray();
+        ownerIds = waiting.stream().mapToLong(row -> row[1]).toArray();
+        next.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    public void approve(Blackhole blackhole) {
+        approve(next.getAndIncrement(), blackhole);
+    }
+
+    @Benchmark
+    public void approveTwice(Blackhole blackhole) {
+        approve(next.getAndIncrement() / 2, blackhole);
+    }
+
+    private void approve(int booking, Blackhole blackhole) {
+        if (booking >= bookingIds.length) {
+            return;
+        }
+        try {
+            blackhole.consume(concurrencyRetry.run(
+                    () -> bookingService.approve(bookingIds[booking], ownerIds[booking], true)));
+        } catch (BadRequestException e) {
+            blackhole.consume(e);
+        }
+    }
+}
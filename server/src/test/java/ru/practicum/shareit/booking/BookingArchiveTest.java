@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.BookingArchive;
+import ru.practicum.shareit.booking.archive.BookingArchiveEntry;
+import ru.practicum.shareit.booking.archive.BookingArchiveEntryRepository;
+import ru.practicum.shareit.booking.archive.BookingArchiveSegment;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BookingArchiveTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 30, 10, 15, 30, 123456000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест на запись и чтение сегмента архива букингов")
+    public void segmentRoundTripTest() {
+        List<ArchivedBooking> bookings = List.of(
+                booking(7L, START, 1L, 2L, BookingStatus.APPROVED),
+                booking(3L, START.plusDays(1), 1L, 4L, BookingStatus.REJECTED),
+                booking(5L, START.minusHours(1), 6L, 2L, BookingStatus.CANCELED));
+        Path file = directory.resolve("segment.bka.gz");
+
+        BookingArchiveSegment.write(file, bookings);
+
+        assertEquals(List.of(bookings.get(1), bookings.get(0), bookings.get(2)), BookingArchiveSegment.read(file));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест на поиск в архиве букингов владельца и автора от новых к старым")
+    public void findTest() {
+        BookingArchive archive = archive();
+        assertNull(archive.getArchivedBefore());
+        archive.write(List.of(
+                booking(1L, START.minusMonths(2), 1L, 2L, BookingStatus.APPROVED),
+                booking(2L, START.minusMonths(1), 1L, 3L, BookingStatus.APPROVED),
+                booking(3L, START, 4L, 2L, BookingStatus.REJECTED)));
+        archive.write(List.of(booking(4L, START.plusDays(1), 1L, 2L, BookingStatus.APPROVED)));
+
+        assertEquals(List.of(4L, 2L, 1L), ids(archive.findByOwnerId(1L, 10)));
+        assertEquals(List.of(4L, 3L), ids(archive.findByBookerId(2L, 2)));
+        assertEquals(LocalDateTime.of(2024, 4, 1, 0, 0), archive.getArchivedBefore());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест на чтение из архива только сегментов с букингами пользователя")
+    public void findReadsUserSegmentsOnlyTest() {
+        BookingArchive archive = archive();
+        for (int month = 0; month < 12; month++) {
+            archive.write(List.of(
+                    booking(month * 2L + 1, START.minusMonths(month), 1L, 2L, BookingStatus.APPROVED),
+                    booking(month * 2L + 2, START.minusMonths(month).plusHours(3), 1L, 3L, BookingStatus.APPROVED)));
+        }
+        archive.write(List.of(booking(100L, START.minusMonths(20), 7L, 8L, BookingStatus.APPROVED)));
+        // a segment that is read fails the lookup: the sparse user's segment is the only one left intact,
+        // and the busy owner's three newest bookings are in the two newest months
+        try (Stream<Path> segments = Files.walk(directory)) {
+            for (Path segment : segments.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                String month = segment.getParent().getFileName().toString();
+                if (!month.equals(YearMonth.from(START.minusMonths(20)).toString())
+                        && YearMonth.parse(month).isBefore(YearMonth.from(START.minusMonths(1)))) {
+                    Files.write(segment, new byte[]{1, 2, 3});
+                }
+            }
+        }
+
+        assertEquals(List.of(100L), ids(archive.findByOwnerId(7L, 10)));
+        assertEquals(List.of(100L), ids(archive.findByBookerId(8L, 10)));
+        assertEquals(List.of(), archive.findByOwnerId(2L, 10));
+        assertEquals(List.of(2L, 1L, 4L), ids(archive.findByOwnerId(1L, 3)));
+        assertEquals(List.of(1L, 3L), ids(archive.findByBookerId(2L, 2)));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест на поиск в архиве букинга по ИД для автора и владельца")
+    public void findByIdTest() {
+        BookingArchive archive = archive();
+        archive.write(List.of(
+                booking(1L, START.minusMonths(1), 1L, 2L, BookingStatus.APPROVED),
+                booking(2L, START.minusMonths(1).plusDays(1), 1L, 3L, BookingStatus.APPROVED)));
+        archive.write(List.of(booking(5L, START, 4L, 2L, BookingStatus.REJECTED)));
+
+        assertEquals(2L, archive.findById(2L, 3L).orElseThrow().getId());
+        assertEquals(2L, archive.findById(2L, 1L).orElseThrow().getId());
+        assertEquals(5L, archive.findById(5L, 2L).orElseThrow().getId());
+        assertTrue(archive.findById(2L, 2L).isEmpty());
+        assertTrue(archive.findById(3L, 1L).isEmpty());
+    }
+
+    /**
+     * Archive over an in-memory list of segment entries.
+     */
+    private BookingArchive archive() {
+        List<BookingArchiveEntry> entries = new ArrayList<>();
+        BookingArchiveEntryRepository entryRepository = mock(BookingArchiveEntryRepository.class);
+        when(entryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            entries.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(entryRepository.findAllByUserIdAndRoleOrderByNewestStartDesc(anyLong(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Pageable page = invocation.getArgument(2);
+                    return entries.stream()
+                            .filter(entry -> entry.getUserId().equals(invocation.getArgument(0))
+                                    && entry.getRole() == invocation.getArgument(1))
+                            .sorted(Comparator.comparing(BookingArchiveEntry::getNewestStart).reversed())
+                            .skip(page.getOffset())
+                            .limit(page.getPageSize())
+                            .collect(Collectors.toList());
+                });
+        return new BookingArchive(entryRepository, directory, true);
+    }
+
+    private static List<Long> ids(List<ArchivedBooking> bookings) {
+        return bookings.stream().map(ArchivedBooking::getId).collect(Collectors.toList());
+    }
+
+    private static ArchivedBooking booking(Long id, LocalDateTime start, Long ownerId, Long bookerId,
+                                           BookingStatus status) {
+        return new ArchivedBooking(id, start, start.plusHours(2), id * 10, bookerId, ownerId, status);
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingRemovedEvent;
+import ru.practicum.shareit.booking.service.BookingSavedEvent;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingCalendarTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 3, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingCalendar bookingCalendar;
+
+    @BeforeEach
+    public void beforeEach() {
+        bookingCalendar = new BookingCalendar(bookingRepository, 100);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        bookingCalendar.stop();
+    }
+
+    @Test
+    @DisplayName("Тест на ленивую загрузку и обновление календаря предмета")
+    public void findBusyTest() {
+        when(bookingRepository.findIntervalsByItemIdAndStatusIn(eq(1L), anyCollection()))
+                .thenReturn(List.of(new BookingIntervalDto(1L, START, START.plusDays(1), BookingStatus.APPROVED)));
+
+        bookingCalendar.onBookingSaved(new BookingSavedEvent(2L, 1L, 1L, 2L, START.plusDays(2), START.plusDays(3),
+                BookingStatus.WAITING));
+        List<BookingIntervalDto> busy = bookingCalendar.findBusy(1L, START.minusDays(1), START.plusDays(10));
+        assertEquals(1, busy.size());
+
+        bookingCalendar.onBookingSaved(new BookingSavedEvent(2L, 1L, 1L, 2L, START.plusDays(2), START.plusDays(3),
+                BookingStatus.WAITING));
+        bookingCalendar.onBookingSaved(new BookingSavedEvent(1L, 1L, 1L, 2L, START, START.plusDays(1),
+                BookingStatus.REJECTED));
+        busy = bookingCalendar.findBusy(1L, START.minusDays(1), START.plusDays(10));
+        assertEquals(1, busy.size());
+        assertEquals(BookingStatus.WAITING, busy.get(0).getStatus());
+        assertTrue(bookingCalendar.findBusy(1L, START, START.plusDays(1)).isEmpty());
+
+        verify(bookingRepository, times(1)).findIntervalsByItemIdAndStatusIn(eq(1L),
+                anyCollection());
+    }
+
+    @Test
+    @DisplayName("Тест на перезагрузку календаря предмета при изменении букинга во время загрузки")
+    public void findBusyWhileLoadingTest() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BookingIntervalDto saved = new BookingIntervalDto(2L, START.plusDays(2), START.plusDays(3),
+                BookingStatus.WAITING);
+        when(bookingRepository.findIntervalsByItemIdAndStatusIn(eq(1L), anyCollection()))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return List.of();
+                })
+                .thenReturn(List.of(saved));
+
+        CompletableFuture<List<BookingIntervalDto>> stale = CompletableFuture.supplyAsync(
+                () -> bookingCalendar.findBusy(1L, START, START.plusDays(10)));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        bookingCalendar.onBookingSaved(new BookingSavedEvent(2L, 1L, 1L, 2L, saved.getStart(), saved.getEnd(),
+                BookingStatus.WAITING));
+        release.countDown();
+
+        assertTrue(stale.get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(List.of(saved), bookingCalendar.findBusy(1L, START, START.plusDays(10)));
+        verify(bookingRepository, times(2)).findIntervalsByItemIdAndStatusIn(eq(1L), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Тест на удаление букинга из календаря вместе с пользователем")
+    public void bookingRemovedTest() {
+        when(bookingRepository.findIntervalsByItemIdAndStatusIn(eq(1L), anyCollection()))
+                .thenReturn(List.of(new BookingIntervalDto(1L, START, START.plusDays(1), BookingStatus.APPROVED),
+                        new BookingIntervalDto(2L, START.plusDays(2), START.plusDays(3), BookingStatus.WAITING)));
+        assertEquals(2, bookingCalendar.findBusy(1L, START, START.plusDays(10)).size());
+
+        bookingCalendar.onBookingRemoved(new BookingRemovedEvent(1L, 1L));
+        bookingCalendar.onBookingRemoved(new BookingRemovedEvent(3L, 2L));
+
+        List<BookingIntervalDto> busy = bookingCalendar.findBusy(1L, START, START.plusDays(10));
+        assertEquals(1, busy.size());
+        assertEquals(2L, busy.get(0).getBookingId());
+    }
+}
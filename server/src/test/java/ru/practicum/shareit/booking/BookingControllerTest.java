@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,12 +12,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingBriefDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingBatchWriter;
+import ru.practicum.shareit.booking.service.BookingCreationPipeline;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingState;
+import ru.practicum.shareit.booking.service.ConcurrencyRetry;
 import ru.practicum.shareit.item.model.Item;
 
 import java.nio.charset.StandardCharsets;
@@ -31,6 +37,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookingController.class)
+@Import({BookingCreationPipeline.class, ConcurrencyRetry.class, SimpleMeterRegistry.class})
 @AutoConfigureMockMvc
 public class BookingControllerTest {
     private final String userHeaderId = "X-Sharer-User-Id";
@@ -38,6 +45,9 @@ public class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingBatchWriter bookingBatchWriter;
+
     private final ObjectMapper mapper = JsonMapper.builder()
             .addModule(new JavaTimeModule())
             .build();
@@ -97,6 +107,23 @@ public class BookingControllerTest {
                 .approve(any(Long.class), any(Long.class), any(Boolean.class));
     }
 
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест эндпоинта /bookings на повтор одобрения после конфликта параллельных изменений")
+    public void approveBookingRetryTest() {
+        when(bookingService.approve(any(Long.class), any(Long.class), any(Boolean.class)))
+                .thenThrow(new OptimisticLockingFailureException("booking 1 was updated concurrently"))
+                .thenReturn(bookingDto);
+
+        mvc.perform(patch("/bookings/1")
+                        .param("approved", "true")
+                        .header(userHeaderId, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(bookingDto.getId()), Long.class));
+
+        verify(bookingService, times(2)).approve(1L, 1L, true);
+    }
+
     @Test
     @SneakyThrows
     @DisplayName("Тест эндпоинта /bookings на получение по ИД букинга")
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingBatchWriter;
+import ru.practicum.shareit.booking.service.BookingCommand;
+import ru.practicum.shareit.booking.service.BookingCreationPipeline;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingCreationPipelineTest {
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingBatchWriter batchWriter;
+
+    private BookingCreationPipeline pipeline;
+
+    @AfterEach
+    public void afterEach() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Test
+    @DisplayName("Тест на ошибку по таймауту создания букинга")
+    public void createTimeoutTest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchWriter.write(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return Map.of();
+        });
+        pipeline = pipeline(Duration.ofMillis(100));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> pipeline.create(new BookingBriefDto(), 1L));
+        assertEquals("booking was not created within PT0.1S", e.getMessage());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Тест на отказ поставленным в очередь букингам при падении потока записи")
+    public void writerErrorTest() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchWriter.write(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            throw new OutOfMemoryError("test");
+        });
+        pipeline = pipeline(Duration.ofSeconds(5));
+
+        CompletableFuture<BookingDto> failing = pipeline.submit(new BookingBriefDto(), 1L);
+        writing.await(5, TimeUnit.SECONDS);
+        CompletableFuture<BookingDto> queued = pipeline.submit(new BookingBriefDto(), 2L);
+        release.countDown();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(new BookingBriefDto(), 3L));
+    }
+
+    @Test
+    @DisplayName("Тест на отказ в приеме букинга после остановки")
+    public void submitAfterStopTest() throws InterruptedException {
+        BookingDto created = new BookingDto();
+        when(batchWriter.write(anyList())).thenAnswer(invocation -> Map.of(
+                invocation.<List<BookingCommand>>getArgument(0).get(0), created));
+        pipeline = pipeline(Duration.ofSeconds(5));
+        CompletableFuture<BookingDto> queued = pipeline.submit(new BookingBriefDto(), 1L);
+
+        pipeline.stop();
+
+        assertEquals(created, queued.getNow(null));
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(new BookingBriefDto(), 2L));
+        verify(batchWriter).write(anyList());
+    }
+
+    private BookingCreationPipeline pipeline(Duration timeout) {
+        BookingCreationPipeline created = new BookingCreationPipeline(bookingService, batchWriter,
+                new SimpleMeterRegistry(), true, 64, Duration.ofMillis(1), timeout, 100);
+        created.start();
+        return created;
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.calendar.BookingIntervalTree;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookingIntervalTreeTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 5, 1, 0, 0);
+
+    @Test
+    @DisplayName("Тест на поиск пересекающихся интервалов бронирования")
+    public void findTest() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(interval(1L, 0, 24));
+        tree.put(interval(2L, 48, 72));
+        tree.put(interval(3L, 10, 100));
+
+        assertEquals(List.of(1L, 3L), ids(tree.find(BASE.plusHours(12), BASE.plusHours(13))));
+        assertEquals(List.of(3L), ids(tree.find(BASE.plusHours(24), BASE.plusHours(48))));
+        assertEquals(List.of(1L, 3L, 2L), ids(tree.find(BASE, BASE.plusHours(49))));
+        assertTrue(tree.find(BASE.plusHours(100), BASE.plusHours(200)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест на изменение и удаление интервалов бронирования")
+    public void putAndRemoveTest() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(interval(1L, 0, 24));
+        tree.put(interval(2L, 48, 72));
+
+        tree.put(interval(1L, 100, 124));
+        assertTrue(tree.find(BASE, BASE.plusHours(24)).isEmpty());
+        assertEquals(List.of(1L), ids(tree.find(BASE.plusHours(110), BASE.plusHours(111))));
+
+        tree.remove(2L);
+        tree.remove(5L);
+        assertTrue(tree.find(BASE, BASE.plusHours(100)).isEmpty());
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    @DisplayName("Тест на совпадение результатов с полным перебором")
+    public void randomTest() {
+        Random random = new Random(7);
+        BookingIntervalTree tree = new BookingIntervalTree();
+        List<BookingIntervalDto> intervals = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            int start = random.nextInt(1000);
+            BookingIntervalDto interval = interval(id, start, start + 1 + random.nextInt(50));
+            intervals.add(interval);
+            tree.put(interval);
+        }
+        for (long id = 1; id <= 500; id += 3) {
+            tree.remove(id);
+        }
+        intervals.removeIf(interval -> interval.getBookingId() % 3 == 1);
+
+        for (int i = 0; i < 100; i++) {
+            LocalDateTime from = BASE.plusHours(random.nextInt(1000));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(30));
+            List<Long> expected = intervals.stream()
+                    .filter(interval -> interval.getStart().isBefore(to) && interval.getEnd().isAfter(from))
+                    .sorted((first, second) -> first.getStart().equals(second.getStart())
+                            ? first.getBookingId().compareTo(second.getBookingId())
+                            : first.getStart().compareTo(second.getStart()))
+                    .map(BookingIntervalDto::getBookingId)
+                    .collect(Collectors.toList());
+            assertEquals(expected, ids(tree.find(from, to)));
+        }
+    }
+
+    private BookingIntervalDto interval(Long id, int startHour, int endHour) {
+        return new BookingIntervalDto(id, BASE.plusHours(startHour), BASE.plusHours(endHour), BookingStatus.APPROVED);
+    }
+
+    private List<Long> ids(List<BookingIntervalDto> intervals) {
+        return intervals.stream().map(BookingIntervalDto::getBookingId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.PostgresTestDatabase;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingState;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one page of the owner and booker listings per state, with bookings spread two years
+ * around now. Runs the server against the in-memory test database by default, which has none of the
+ * partial listing indexes of the PostgreSQL migrations (V5), so its numbers say nothing about them.
+ * Pass {@code -p database=postgresql} to run against {@link PostgresTestDatabase} (wiped on start) and
+ * {@code -p bookings=10000000} for the full-size table:
+ * {@code mvn -pl server test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ru.practicum.shareit.booking.BookingListingBenchmark -Dexec.args="-p database=postgresql"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingListingBenchmark {
+    private static final int BATCH_SIZE = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final BookingStatus[] STATUSES = {BookingStatus.APPROVED, BookingStatus.APPROVED,
+            BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.REJECTED, BookingStatus.CANCELED};
+
+    @Param({"h2"})
+    private String database;
+
+    @Param({"1000"})
+    private int users;
+
+    @Param({"1000000"})
+    private int bookings;
+
+    @Param({"ALL", "FUTURE", "CURRENT", "PAST", "WAITING", "REJECTED"})
+    private BookingState state;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private long[] userIds;
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(BookingListingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        Map<String, String> properties = new LinkedHashMap<>(Map.of("server.port", "0",
+                "logging.level.root", "WARN", "spring.main.banner-mode", "off",
+                "shareit.booking.expiry.enabled", "false"));
+        boolean postgres = "postgresql".equals(database);
+        if (postgres) {
+            properties.putAll(PostgresTestDatabase.properties());
+        }
+        SpringApplicationBuilder application = new SpringApplicationBuilder(ShareItServer.class);
+        if (!postgres) {
+            application.profiles("test");
+        }
+        context = application.run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+        if (postgres) {
+            Flyway flyway = context.getBean(Flyway.class);
+            flyway.clean();
+            flyway.migrate();
+        }
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        bookingService = context.getBean(BookingService.class);
+
+        List<Object[]> rows = new ArrayList<>(users);
+        for (int user = 0; user < users; user++) {
+            rows.add(new Object[]{"user" + user, "user" + user + "@listing.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", rows);
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                "SELECT 'Дрель', 'Простая дрель', TRUE, id FROM users");
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+        long[] itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY owner_id", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+
+        // every item's bookings get their own slots, so approved ones never overlap (PostgreSQL rejects that)
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime first = LocalDateTime.now().minusMinutes(525_600);
+        long slot = 2 * 525_600L / ((bookings + users - 1) / users);
+        long maxDuration = Math.max(1, Math.min(72 * 60, slot / 2));
+        for (int offset = 0; offset < bookings; offset += BATCH_SIZE) {
+            rows = new ArrayList<>(BATCH_SIZE);
+            for (int i = offset; i < Math.min(bookings, offset + BATCH_SIZE); i++) {
+                int owner = i % users;
+                LocalDateTime start = first.plusMinutes(i / users * slot + random.nextLong(slot / 2 + 1));
+                rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(1 + random.nextLong(maxDuration))),
+                        itemIds[owner], userIds[(owner + 1 + random.nextInt(users - 1)) % users], userIds[owner],
+                        STATUSES[i % STATUSES.length].name()});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO booking (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> ownerListing() {
+        return bookingService.getAllByOwner(randomUser(), state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> bookerListing() {
+        return bookingService.getAllByUser(randomUser(), state, 0, PAGE_SIZE);
+    }
+
+    private long randomUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+}
@@ -24,7 +24,7 @@ public class BookingMapperTest {
         booking = new Booking(1L,
                 LocalDateTime.parse("2023-10-01T19:34:50.63"),
                 LocalDateTime.parse("2023-10-02T19:34:50.63"),
-                new Item(), new User(), null);
+                new Item(), new User(), null, null, 0L);
 
         bookingBriefDto = new BookingBriefDto();
         bookingBriefDto.setId(1L);
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.partition.BookingPartitionMaintainer;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingPartitionMaintainerTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Тест на создание недостающих месячных партиций букингов на несколько месяцев вперед")
+    public void ensurePartitionsTest() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BookingPartitionMaintainer maintainer = new BookingPartitionMaintainer(jdbcTemplate, meterRegistry, true, 2);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Date.class)))
+                .thenReturn(false, true, true);
+
+        assertEquals(2, maintainer.ensurePartitions(LocalDate.of(2030, 12, 17)));
+
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Boolean.class), eq(Date.valueOf("2030-12-01")));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Boolean.class), eq(Date.valueOf("2031-01-01")));
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Boolean.class), eq(Date.valueOf("2031-02-01")));
+        verify(jdbcTemplate, times(3)).queryForObject(anyString(), eq(Boolean.class), any(Date.class));
+        assertEquals(2, meterRegistry.get("booking.partition.created").counter().count());
+    }
+}
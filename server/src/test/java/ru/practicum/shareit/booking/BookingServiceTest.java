@@ -7,8 +7,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.archive.BookingArchive;
 import ru.practicum.shareit.booking.dto.BookingBriefDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,9 +20,12 @@ import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.booking.service.BookingState;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.journal.service.ChangeJournal;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
@@ -31,6 +36,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +52,18 @@ public class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ChangeJournal changeJournal;
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Mock
+    private BookingArchive bookingArchive;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -59,8 +78,8 @@ public class BookingServiceTest {
     public void beforeEach() {
         user = new User(1L, "Ivanov", "ivanov@mail.ru");
         owner = new User(2L, "Petrov", "petrov@mail.ru");
-        item = new Item(1L, "Item", "Description", true, owner, null);
-        booking = new Booking(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(1), item, user, BookingStatus.APPROVED);
+        item = new Item(1L, "Item", "Description", true, owner, null, null);
+        booking = new Booking(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(1), item, user, owner.getId(), BookingStatus.APPROVED, 0L);
         bookingDto = BookingMapper.toBookingDto(booking);
         bookingBriefDto = BookingMapper.toBookingBriefDto(booking);
     }
@@ -93,14 +112,48 @@ public class BookingServiceTest {
         when(bookingRepository.findById(any(Long.class)))
                 .thenReturn(Optional.ofNullable(booking));
 
-        when(bookingRepository.save(any(Booking.class)))
-                .thenReturn(booking);
+        when(bookingRepository.updateStatusIfWaiting(1L, BookingStatus.APPROVED))
+                .thenReturn(1);
 
         BookingDto result = bookingService.approve(1L, 2L, true);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals(BookingStatus.APPROVED, result.getStatus());
+        verify(itemBookingSummaryService).onApproved(any(BookingBriefDto.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Тест на подтверждение букинга, пересекающегося с подтвержденным")
+    public void approveOverlappingBookingTest() {
+        booking.setStatus(BookingStatus.WAITING);
+
+        when(bookingRepository.findById(any(Long.class)))
+                .thenReturn(Optional.ofNullable(booking));
+
+        when(bookingRepository.updateStatusIfWaiting(1L, BookingStatus.APPROVED))
+                .thenReturn(1);
+
+        when(bookingRepository.existsApprovedOverlap(item.getId(), 1L, booking.getStart(), booking.getEnd()))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.approve(1L, 2L, true));
+        verifyNoInteractions(changeJournal, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Тест на одобрение букинга, уже измененного параллельным запросом")
+    public void approveBookingConcurrentlyChangedTest() {
+        booking.setStatus(BookingStatus.WAITING);
+
+        when(bookingRepository.findById(any(Long.class)))
+                .thenReturn(Optional.ofNullable(booking));
+
+        when(bookingRepository.updateStatusIfWaiting(1L, BookingStatus.REJECTED))
+                .thenReturn(0);
+
+        assertThrows(BadRequestException.class, () -> bookingService.approve(1L, 2L, false));
+        verifyNoInteractions(changeJournal, eventPublisher);
     }
 
 
@@ -125,8 +178,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByBookerAndStatusEquals(any(User.class), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByUser(1L, BookingState.REJECTED, 0, 10);
 
@@ -141,8 +194,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByBookerAndStatusEquals(any(User.class), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByUser(1L, BookingState.WAITING, 0, 10);
 
@@ -157,8 +210,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByBookerAndStartBeforeAndEndAfter(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByUser(1L, BookingState.CURRENT, 0, 10);
 
@@ -173,8 +226,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByBookerAndStartAfter(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByUser(1L, BookingState.FUTURE, 0, 10);
 
@@ -189,8 +242,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByBookerAndEndBefore(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByUser(1L, BookingState.PAST, 0, 10);
 
@@ -205,8 +258,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByBooker(any(User.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         List<BookingDto> result = bookingService
                 .getAllByUser(1L, BookingState.ALL, 0, 10);
@@ -224,8 +277,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByItemOwnerAndStatusEquals(any(User.class), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByOwner(1L, BookingState.WAITING, 0, 10);
 
@@ -241,8 +294,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByItemOwnerAndStartBeforeAndEndAfter(any(User.class), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByOwner(1L, BookingState.CURRENT, 0, 10);
 
@@ -258,8 +311,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByItemOwnerAndStartAfter(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByOwner(1L, BookingState.FUTURE, 0, 10);
 
@@ -275,8 +328,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByItemOwnerAndEndBefore(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByOwner(1L, BookingState.PAST, 0, 10);
 
@@ -292,8 +345,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByItemOwner(any(User.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService.getAllByOwner(1L, BookingState.ALL, 0, 10);
 
@@ -309,8 +362,8 @@ public class BookingServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(bookingRepository
-                .findAllByItemOwnerAndStatusEquals(any(User.class), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking)));
+                .findSlice(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(booking)));
 
         List<BookingDto> result = bookingService
                 .getAllByOwner(1L, BookingState.REJECTED, 0, 10);
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.lifecycle.BookingPhase;
+import ru.practicum.shareit.booking.lifecycle.BookingPhaseEvent;
+import ru.practicum.shareit.booking.lifecycle.BookingTimeline;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingSavedEvent;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingTimelineTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 5, 3, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BookingTimeline timeline;
+
+    @BeforeEach
+    public void beforeEach() {
+        timeline = new BookingTimeline(bookingRepository, eventPublisher, Duration.ofSeconds(1),
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Тест на события начала и окончания одобренных букингов по времени")
+    public void advanceTest() {
+        BookingBriefDto current = new BookingBriefDto(2L, NOW.minusHours(1), NOW.plusHours(1), 1L, 5L);
+        BookingBriefDto future = new BookingBriefDto(3L, NOW.plusDays(1), NOW.plusDays(2), 1L, 5L);
+        when(bookingRepository.findBriefByStatusAndEndAfter(eq(BookingStatus.APPROVED), eq(NOW), eq(0L),
+                any(Pageable.class))).thenReturn(List.of(current, future));
+        timeline.build();
+
+        timeline.advance(NOW.plusHours(1).plusSeconds(1));
+
+        timeline.onBookingSaved(new BookingSavedEvent(4L, 1L, 7L, 5L, NOW.plusHours(2), NOW.plusHours(3),
+                BookingStatus.APPROVED));
+        timeline.onBookingSaved(new BookingSavedEvent(5L, 1L, 7L, 5L, NOW.plusHours(2), NOW.plusHours(4),
+                BookingStatus.WAITING));
+        timeline.onBookingSaved(new BookingSavedEvent(6L, 1L, 7L, 5L, NOW.plusHours(5), NOW.plusHours(6),
+                BookingStatus.APPROVED));
+        timeline.onBookingSaved(new BookingSavedEvent(6L, 1L, 7L, 5L, NOW.plusHours(5), NOW.plusHours(6),
+                BookingStatus.CANCELED));
+
+        timeline.advance(NOW.plusDays(3));
+
+        ArgumentCaptor<BookingPhaseEvent> events = ArgumentCaptor.forClass(BookingPhaseEvent.class);
+        verify(eventPublisher, times(5)).publishEvent(events.capture());
+        assertEquals(List.of("2 ENDED", "4 STARTED", "4 ENDED", "3 STARTED", "3 ENDED"), events.getAllValues().stream()
+                .map(event -> event.getBookingId() + " " + event.getPhase())
+                .collect(Collectors.toList()));
+        assertEquals(BookingPhase.ENDED, events.getValue().getPhase());
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.booking;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.archive.BookingArchiveJob;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.service.BookingState;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@AutoConfigureTestDatabase
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationBookingArchiveTest {
+    @Autowired
+    private BookingArchiveJob archiveJob;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @DynamicPropertySource
+    @SneakyThrows
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        String directory = Files.createTempDirectory("archive").toString();
+        registry.add("shareit.booking.archive.enabled", () -> "true");
+        registry.add("shareit.booking.archive.dir", () -> directory);
+        registry.add("shareit.booking.archive.batch-size", () -> "3");
+    }
+
+    @Test
+    @DisplayName("Тест на перенос завершенных букингов в архив и их чтение в списке прошедших")
+    void archiveTest() {
+        User owner = userService.create(new User(null, "owner", "owner@archive.ru"));
+        User booker = userService.create(new User(null, "booker", "booker@archive.ru"));
+        User sparse = userService.create(new User(null, "sparse", "sparse@archive.ru"));
+        ItemDto item = new ItemDto();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        Long itemId = itemService.create(item, owner.getId()).getId();
+        LocalDateTime now = LocalDateTime.now();
+        Long oldest = null;
+        for (int month = 14; month >= 1; month--) {
+            BookingDto booking = bookingService.create(newBooking(itemId, now.minusMonths(month),
+                    now.minusMonths(month).plusDays(2)), booker.getId());
+            bookingService.approve(booking.getId(), owner.getId(), month % 3 != 0);
+            oldest = oldest == null ? booking.getId() : oldest;
+        }
+        BookingDto single = bookingService.create(newBooking(itemId, now.minusMonths(12).plusDays(5),
+                now.minusMonths(12).plusDays(6)), sparse.getId());
+        bookingService.approve(single.getId(), owner.getId(), true);
+        List<Long> expected = ids(bookingService.getAllByOwner(owner.getId(), BookingState.PAST, 0, 20));
+        List<Long> expectedByBooker = ids(bookingService.getAllByUser(booker.getId(), BookingState.PAST, 0, 20));
+        assertEquals(15, expected.size());
+        assertEquals(14, expectedByBooker.size());
+
+        // every booking older than six months except the sparse booker's only approved one, which stays hot
+        // so that they can still comment on the item
+        assertEquals(8, archiveJob.archive(now.minusMonths(6)));
+        assertEquals(7, bookingRepository.count());
+        assertFalse(bookingRepository.existsById(oldest));
+
+        assertEquals(expected, ids(bookingService.getAllByOwner(owner.getId(), BookingState.PAST, 0, 20)));
+        assertEquals(expectedByBooker, ids(bookingService.getAllByUser(booker.getId(), BookingState.PAST, 0, 20)));
+        assertEquals(expected.subList(4, 8), ids(bookingService.getAllByOwner(owner.getId(), BookingState.PAST, 4, 4)));
+        assertEquals(expectedByBooker.subList(0, 4),
+                ids(bookingService.getAllByUser(booker.getId(), BookingState.PAST, 0, 4)));
+        assertEquals(List.of(single.getId()), ids(bookingService.getAllByUser(sparse.getId(), BookingState.PAST, 0, 20)));
+        assertEquals(0, archiveJob.archive(now.minusMonths(6)));
+
+        assertEquals(oldest, bookingService.getById(oldest, booker.getId()).getId());
+        assertEquals(oldest, bookingService.getById(oldest, owner.getId()).getId());
+        Long sparseId = sparse.getId();
+        Long finalOldest = oldest;
+        assertThrows(ObjectNotFoundException.class, () -> bookingService.getById(finalOldest, sparseId));
+        CommentDto comment = new CommentDto();
+        comment.setText("Хорошая дрель");
+        assertEquals("Хорошая дрель", itemService.createComment(itemId, sparseId, comment).getText());
+        assertThrows(BadRequestException.class, () -> bookingService.getAllByOwner(owner.getId(), BookingState.PAST,
+                BookingServiceImpl.PAST_WITH_ARCHIVE_MAX_DEPTH, 10));
+    }
+
+    private static List<Long> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
+
+    private static BookingBriefDto newBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingBriefDto booking = new BookingBriefDto();
+        booking.setItemId(itemId);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.expiry.BookingExpiryJob;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingState;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = {"shareit.booking.expiry.enabled=false", "shareit.booking.expiry.batch-size=2"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationBookingExpiryTest {
+    @Autowired
+    private BookingExpiryJob expiryJob;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Тест на отмену пачками неподтвержденных букингов, время начала которых прошло")
+    void expireTest() {
+        User owner = userService.create(new User(null, "owner", "owner@expiry.ru"));
+        User booker = userService.create(new User(null, "booker", "booker@expiry.ru"));
+        ItemDto item = new ItemDto();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        Long itemId = itemService.create(item, owner.getId()).getId();
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDto> stale = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            stale.add(bookingService.create(newBooking(itemId, now.minusHours(i), now.plusHours(i)), booker.getId()));
+        }
+        BookingDto approved = bookingService.create(newBooking(itemId, now.minusHours(5), now.minusHours(4)),
+                booker.getId());
+        bookingService.approve(approved.getId(), owner.getId(), true);
+        BookingDto future = bookingService.create(newBooking(itemId, now.plusDays(1), now.plusDays(2)),
+                booker.getId());
+
+        assertEquals(3, expiryJob.expire(now));
+        assertEquals(0, expiryJob.expire(now));
+
+        for (BookingDto booking : stale) {
+            assertEquals(BookingStatus.CANCELED, bookingService.getById(booking.getId(), owner.getId()).getStatus());
+        }
+        assertEquals(BookingStatus.APPROVED, bookingService.getById(approved.getId(), owner.getId()).getStatus());
+        List<BookingDto> waiting = bookingService.getAllByOwner(owner.getId(), BookingState.WAITING, 0, 10);
+        assertEquals(1, waiting.size());
+        assertEquals(future.getId(), waiting.get(0).getId());
+        assertEquals(3, meterRegistry.get("booking.expiry.expired").counter().count());
+        assertEquals(3, meterRegistry.get("booking.expiry.batch").timer().count());
+    }
+
+    private static BookingBriefDto newBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingBriefDto booking = new BookingBriefDto();
+        booking.setItemId(itemId);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
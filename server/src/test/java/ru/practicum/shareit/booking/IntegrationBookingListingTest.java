@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.RecordingStatementInspector;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingState;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ru.practicum.shareit.RecordingStatementInspector",
+        "shareit.booking.expiry.enabled=false"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationBookingListingTest {
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Тест на выборку списков бронирований по каждому состоянию одним запросом")
+    void listingPerStateTest() {
+        User owner = userService.create(new User(null, "owner", "owner@listing.ru"));
+        User booker = userService.create(new User(null, "booker", "booker@listing.ru"));
+        ItemDto item = new ItemDto();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        Long itemId = itemService.create(item, owner.getId()).getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        Long past = insert(itemId, booker, owner, now.minusDays(3), now.minusDays(2), "APPROVED");
+        Long current = insert(itemId, booker, owner, now.minusDays(1), now.plusDays(1), "APPROVED");
+        Long waiting = insert(itemId, booker, owner, now.plusDays(2), now.plusDays(3), "WAITING");
+        Long rejected = insert(itemId, booker, owner, now.plusDays(4), now.plusDays(5), "REJECTED");
+
+        Map<BookingState, List<Long>> expected = new EnumMap<>(BookingState.class);
+        expected.put(BookingState.ALL, List.of(rejected, waiting, current, past));
+        expected.put(BookingState.FUTURE, List.of(rejected, waiting));
+        expected.put(BookingState.CURRENT, List.of(current));
+        expected.put(BookingState.PAST, List.of(past));
+        expected.put(BookingState.WAITING, List.of(waiting));
+        expected.put(BookingState.REJECTED, List.of(rejected));
+
+        for (Map.Entry<BookingState, List<Long>> state : expected.entrySet()) {
+            assertEquals(state.getValue(), listing(() -> bookingService
+                    .getAllByOwner(owner.getId(), state.getKey(), 0, 10)), "owner " + state.getKey());
+            assertEquals(state.getValue(), listing(() -> bookingService
+                    .getAllByUser(booker.getId(), state.getKey(), 0, 10)), "booker " + state.getKey());
+        }
+        assertEquals(List.of(waiting), listing(() -> bookingService
+                .getAllByOwner(owner.getId(), BookingState.ALL, 1, 1)));
+    }
+
+    /**
+     * Lists the bookings and checks the page came from one booking statement without a count query.
+     */
+    private List<Long> listing(Supplier<List<BookingDto>> listing) {
+        List<BookingDto> bookings = new ArrayList<>();
+        List<String> statements = RecordingStatementInspector.record(() -> bookings.addAll(listing.get())).stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " "))
+                .filter(sql -> sql.contains("from booking "))
+                .collect(Collectors.toList());
+        assertEquals(1, statements.size(), String.join("\n", statements));
+        return bookings.stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
+
+    private Long insert(Long itemId, User booker, User owner, LocalDateTime start, LocalDateTime end,
+                        String status) {
+        jdbcTemplate.update("INSERT INTO booking (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", Timestamp.valueOf(start), Timestamp.valueOf(end), itemId,
+                booker.getId(), owner.getId(), status);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM booking", Long.class);
+    }
+}
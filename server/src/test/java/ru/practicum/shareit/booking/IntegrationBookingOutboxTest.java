@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.outbox.BookingOutboxRelay;
+import ru.practicum.shareit.booking.outbox.BookingStatusMessage;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@AutoConfigureTestDatabase
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationBookingOutboxTest {
+    private static Path outboxFile;
+
+    @Autowired
+    private BookingOutboxRelay relay;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private List<BookingStatusMessage> received;
+
+    @DynamicPropertySource
+    @SneakyThrows
+    static void outboxProperties(DynamicPropertyRegistry registry) {
+        outboxFile = Files.createTempDirectory("outbox").resolve("bookings.ndjson");
+        registry.add("shareit.booking.outbox.enabled", () -> "true");
+        registry.add("shareit.booking.outbox.relay-interval", () -> "PT1H");
+        registry.add("shareit.booking.outbox.file.path", outboxFile::toString);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест на доставку изменений статуса букинга в файл и слушателям приложения")
+    void relayTest() {
+        User owner = userService.create(new User(null, "owner", "owner@outbox.ru"));
+        User booker = userService.create(new User(null, "booker", "booker@outbox.ru"));
+        ItemDto item = new ItemDto();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        ItemDto createdItem = itemService.create(item, owner.getId());
+        BookingBriefDto booking = new BookingBriefDto();
+        booking.setItemId(createdItem.getId());
+        booking.setStart(LocalDateTime.now().plusDays(1));
+        booking.setEnd(LocalDateTime.now().plusDays(2));
+        BookingDto created = bookingService.create(booking, booker.getId());
+        bookingService.approve(created.getId(), owner.getId(), true);
+
+        relay.relay();
+        relay.relay();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(outboxFile)) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(2, lines.size());
+        assertEquals("CREATE", lines.get(0).get("operation").asText());
+        assertEquals("WAITING", lines.get(0).get("status").asText());
+        assertEquals(created.getId(), lines.get(0).get("bookingId").asLong());
+        assertEquals(owner.getId(), lines.get(0).get("ownerId").asLong());
+        assertEquals("APPROVED", lines.get(1).get("status").asText());
+
+        assertEquals(2, received.size());
+        assertEquals(List.of(ChangeOperation.CREATE, ChangeOperation.UPDATE),
+                received.stream().map(BookingStatusMessage::getOperation).collect(Collectors.toList()));
+        assertEquals(BookingStatus.APPROVED, received.get(1).getStatus());
+        assertEquals(booker.getId(), received.get(1).getBookerId());
+        assertEquals(lines.get(1).get("seq").asLong(), received.get(1).getSeq());
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+        private final List<BookingStatusMessage> received = new CopyOnWriteArrayList<>();
+
+        @Bean
+        List<BookingStatusMessage> received() {
+            return received;
+        }
+
+        @EventListener
+        public void onBookingStatus(BookingStatusMessage message) {
+            received.add(message);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingCreationPipeline;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingState;
+import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = {"shareit.booking.pipeline.enabled=true", "shareit.booking.pipeline.max-delay=200ms"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationBookingPipelineTest {
+    @Autowired
+    private BookingCreationPipeline pipeline;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Тест на создание букингов пачкой с отдельным результатом для каждого запроса")
+    void createBatchTest() {
+        User owner = userService.create(new User(null, "owner", "owner@pipeline.ru"));
+        User booker = userService.create(new User(null, "booker", "booker@pipeline.ru"));
+        ItemDto item = new ItemDto();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        ItemDto createdItem = itemService.create(item, owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        DistributionSummary batchSizes = meterRegistry.get("booking.create.pipeline.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+
+        List<CompletableFuture<BookingDto>> created = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            created.add(pipeline.submit(newBooking(createdItem.getId(), start.plusHours(i), start.plusHours(i + 1)),
+                    booker.getId()));
+        }
+        CompletableFuture<BookingDto> wrongPeriod = pipeline.submit(newBooking(createdItem.getId(), start, start),
+                booker.getId());
+        CompletableFuture<BookingDto> ownItem = pipeline.submit(newBooking(createdItem.getId(), start,
+                start.plusHours(1)), owner.getId());
+
+        for (CompletableFuture<BookingDto> booking : created) {
+            BookingDto dto = booking.join();
+            assertNotNull(dto.getId());
+            assertEquals(BookingStatus.WAITING, dto.getStatus());
+            assertEquals(booker.getId(), dto.getBooker().getId());
+        }
+        CompletionException badPeriod = assertThrows(CompletionException.class, wrongPeriod::join);
+        assertInstanceOf(BadRequestException.class, badPeriod.getCause());
+        CompletionException notFound = assertThrows(CompletionException.class, ownItem::join);
+        assertInstanceOf(ObjectNotFoundException.class, notFound.getCause());
+
+        assertEquals(10, bookingService.getAllByUser(booker.getId(), BookingState.ALL, 0, 20).size());
+        assertTrue(batchSizes.count() - batchesBefore < 10);
+        assertThrows(ObjectNotFoundException.class,
+                () -> pipeline.create(newBooking(createdItem.getId(), start, start.plusHours(1)), 999L));
+    }
+
+    private static BookingBriefDto newBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingBriefDto booking = new BookingBriefDto();
+        booking.setItemId(itemId);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
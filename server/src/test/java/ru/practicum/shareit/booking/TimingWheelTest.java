@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.lifecycle.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+    private static final long TICK = 1000;
+    private static final long START = 1_893_456_000_123L;
+
+    @Test
+    @DisplayName("Тест на срабатывание таймеров в свой тик на всех уровнях колеса")
+    public void advanceTest() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 8, START);
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long timer = 0; timer < 2000; timer++) {
+            long deadline = START + (long) (random.nextDouble() * random.nextDouble() * 3 * 24 * 3600 * TICK);
+            deadlines.put(timer, deadline);
+            assertTrue(wheel.add(deadline, timer));
+        }
+
+        Map<Long, Long> fired = new HashMap<>();
+        for (long now = START; now <= START + 3 * 24 * 3600 * TICK + TICK; now += TICK) {
+            long at = now;
+            wheel.advance(now, timer -> assertNull(fired.put(timer, at)));
+        }
+
+        assertEquals(deadlines.size(), fired.size());
+        deadlines.forEach((timer, deadline) -> {
+            long at = fired.get(timer);
+            assertTrue(at > deadline, "fired before deadline");
+            long tickEnd = deadline - Math.floorMod(deadline, TICK) + TICK;
+            assertTrue(at >= tickEnd && at - TICK < tickEnd, "not fired on the first advance past its tick");
+        });
+    }
+
+    @Test
+    @DisplayName("Тест на таймеры, добавленные после сдвига колеса, и на просроченные таймеры")
+    public void addAfterAdvanceTest() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, START);
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 100 * TICK, fired::add);
+
+        assertFalse(wheel.add(START, "past"));
+        assertTrue(wheel.add(START + 150 * TICK, "far"));
+        assertTrue(wheel.add(START + 100 * TICK + 500, "near"));
+
+        wheel.advance(START + 101 * TICK, fired::add);
+        assertEquals(List.of("near"), fired);
+        wheel.advance(START + 149 * TICK, fired::add);
+        assertEquals(List.of("near"), fired);
+        wheel.advance(START + 151 * TICK, fired::add);
+        assertEquals(List.of("near", "far"), fired);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.FullTextItemSearchEngine;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FullTextItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private FullTextItemSearchEngine searchEngine;
+
+    @Test
+    @DisplayName("Тест на построение запроса полнотекстового поиска")
+    public void searchBuildsPrefixQueryTest() {
+        when(itemRepository.searchAvailableFullText(any(String.class), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        List<ItemDto> result = searchEngine.search("Дрель, аккУМУлятор!", 1, 5);
+
+        assertTrue(result.isEmpty());
+        verify(itemRepository).searchAvailableFullText(eq("дрель:* & аккумулятор:*"), eq(PageRequest.of(1, 5)));
+    }
+
+    @Test
+    @DisplayName("Тест на поисковый запрос без слов")
+    public void searchWithoutWordsTest() {
+        List<ItemDto> result = searchEngine.search("!?&|", 0, 10);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(itemRepository);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.FuzzyItemSearchIndex;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FuzzyItemSearchIndexTest {
+    private FuzzyItemSearchIndex index;
+
+    @BeforeEach
+    public void beforeEach() {
+        index = new FuzzyItemSearchIndex();
+        index.put(itemDto(1L, "Дрель", "Простая дрель", true));
+        index.put(itemDto(2L, "Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", true));
+        index.put(itemDto(3L, "Отвертка", "Аккумуляторная отвертка", false));
+        index.put(itemDto(4L, "Дрелька", "Маленькая дрель", true));
+    }
+
+    @Test
+    @DisplayName("Тест на поиск с опечатками и ранжирование по расстоянию")
+    public void searchWithTyposTest() {
+        assertEquals(List.of(1L, 2L, 4L), ids(index.search("дрел", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("акумуляторная дрль", 0, 10)));
+        assertEquals(List.of(4L, 1L, 2L), ids(index.search("дрелька", 0, 10)));
+        assertTrue(index.search("молоток", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест на исключение недоступных предметов")
+    public void availabilityTest() {
+        assertTrue(index.search("отвертка", 0, 10).isEmpty());
+
+        index.put(itemDto(3L, "Отвертка", "Аккумуляторная отвертка", true));
+        assertEquals(List.of(3L), ids(index.search("отвертко", 0, 10)));
+
+        index.put(itemDto(1L, "Дрель", "Простая дрель", false));
+        assertEquals(List.of(2L, 4L), ids(index.search("дрель", 0, 10)));
+        assertEquals(List.of(4L), ids(index.search("дрель", 1, 1)));
+    }
+
+    private ItemDto itemDto(Long id, String name, String description, Boolean available) {
+        ItemDto result = new ItemDto();
+        result.setId(id);
+        result.setName(name);
+        result.setDescription(description);
+        result.setAvailable(available);
+        return result;
+    }
+
+    private List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.search.IndexItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchIndexSnapshot;
+import ru.practicum.shareit.item.service.ItemRemovedEvent;
+import ru.practicum.shareit.item.service.ItemSavedEvent;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.service.ChangeJournal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IndexItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ChangeJournal changeJournal;
+
+    @InjectMocks
+    private IndexItemSearchEngine engine;
+
+    @Test
+    @DisplayName("Тест на удаление из индекса предметов, удаленных вместе с владельцем")
+    public void itemRemovedTest() {
+        engine.onItemSaved(new ItemSavedEvent(itemDto(1L, "Дрель")));
+        engine.onItemSaved(new ItemSavedEvent(itemDto(2L, "Дрель ударная")));
+        ItemSearchView drill = view(1L, "Дрель");
+        ItemSearchView hammerDrill = view(2L, "Дрель ударная");
+        when(itemRepository.findSearchViewsByIdIn(List.of(1L, 2L))).thenReturn(List.of(hammerDrill, drill));
+        when(itemRepository.findSearchViewsByIdIn(List.of(2L))).thenReturn(List.of(hammerDrill));
+        assertEquals(List.of(1L, 2L), ids(engine.search("дрель", 0, 10)));
+
+        engine.onItemRemoved(new ItemRemovedEvent(1L));
+
+        assertEquals(List.of(2L), ids(engine.search("дрель", 0, 10)));
+    }
+
+    @Test
+    @DisplayName("Тест на удаление предметов, удаленных после снимка индекса, при восстановлении")
+    public void restoreRemovedTest(@TempDir Path directory) throws IOException {
+        ItemSearchIndex index = new ItemSearchIndex();
+        index.put(itemDto(1L, "Дрель"));
+        index.put(itemDto(2L, "Дрель ударная"));
+        LocalDateTime takenAt = LocalDateTime.now().minusHours(1);
+        Path file = directory.resolve("index.snapshot");
+        new ItemSearchIndexSnapshot(index, takenAt).write(file);
+        when(changeJournal.findDeleted(eq(ChangeEntity.ITEM), any(LocalDateTime.class))).thenReturn(List.of(1L));
+        ReflectionTestUtils.setField(engine, "snapshotPath", file.toString());
+        ItemSearchView hammerDrill = view(2L, "Дрель ударная");
+        when(itemRepository.findSearchViewsByIdIn(List.of(2L))).thenReturn(List.of(hammerDrill));
+
+        engine.build();
+
+        assertEquals(List.of(2L), ids(engine.search("дрель", 0, 10)));
+    }
+
+    private static ItemDto itemDto(Long id, String name) {
+        ItemDto item = new ItemDto();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription("Простой инструмент");
+        item.setAvailable(true);
+        return item;
+    }
+
+    @Test
+    @DisplayName("Тест на чтение найденных предметов из таблицы")
+    public void searchReadsItemsTest() {
+        engine.onItemSaved(new ItemSavedEvent(itemDto(1L, "Дрель")));
+        engine.onItemSaved(new ItemSavedEvent(itemDto(2L, "Дрель ударная")));
+        ItemSearchView unavailable = view(1L, "Дрель");
+        when(unavailable.getAvailable()).thenReturn(false);
+        ItemSearchView requested = view(2L, "Дрель ударная");
+        when(requested.getRequestId()).thenReturn(7L);
+        when(itemRepository.findSearchViewsByIdIn(List.of(1L, 2L))).thenReturn(List.of(unavailable, requested));
+
+        List<ItemDto> found = engine.search("дрель", 0, 10);
+
+        assertEquals(List.of(2L), ids(found));
+        assertEquals("Дрель ударная", found.get(0).getName());
+        assertEquals(7L, found.get(0).getRequestId());
+    }
+
+    private static ItemSearchView view(Long id, String name) {
+        ItemSearchView view = mock(ItemSearchView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        lenient().when(view.getName()).thenReturn(name);
+        lenient().when(view.getDescription()).thenReturn("Простой инструмент");
+        lenient().when(view.getAvailable()).thenReturn(true);
+        return view;
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
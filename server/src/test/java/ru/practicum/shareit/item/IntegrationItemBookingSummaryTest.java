@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRefresher;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@AutoConfigureTestDatabase
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationItemBookingSummaryTest {
+    @Autowired
+    private ItemBookingSummaryRefresher refresher;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    @DisplayName("Тест на сводку букингов предмета после одобрения и удаления букингов")
+    void summaryTest() {
+        User owner = userService.create(new User(null, "owner", "owner@summary.ru"));
+        User booker = userService.create(new User(null, "booker", "booker@summary.ru"));
+        ItemDto item = new ItemDto();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        Long itemId = itemService.create(item, owner.getId()).getId();
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto past = bookingService.create(newBooking(itemId, now.minusDays(2), now.minusDays(1)), booker.getId());
+        BookingDto future = bookingService.create(newBooking(itemId, now.plusDays(1), now.plusDays(2)), booker.getId());
+        bookingService.approve(past.getId(), owner.getId(), true);
+        bookingService.approve(future.getId(), owner.getId(), true);
+
+        ItemDto found = itemService.findById(itemId, owner.getId());
+        assertEquals(past.getId(), found.getLastBooking().getId());
+        assertEquals(booker.getId(), found.getLastBooking().getBookerId());
+        assertEquals(future.getId(), found.getNextBooking().getId());
+        assertEquals(past.getId(), itemService.getAllByUserId(owner.getId(), 0, 10).get(0).getLastBooking().getId());
+
+        userService.delete(booker.getId());
+        refresher.refreshAll();
+
+        found = itemService.findById(itemId, owner.getId());
+        assertNull(found.getLastBooking());
+        assertNull(found.getNextBooking());
+    }
+
+    private static BookingBriefDto newBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingBriefDto booking = new BookingBriefDto();
+        booking.setItemId(itemId);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
@@ -40,8 +40,8 @@ public class IntegrationItemTest {
 
     @BeforeEach
     public void beforeEach() {
-        item1 = new Item(null, "бензопила", "все люди делятся на две половины", true, null, null);
-        item2 = new Item(null, "кот", "много есть и спит", true, null, null);
+        item1 = new Item(null, "бензопила", "все люди делятся на две половины", true, null, null, null);
+        item2 = new Item(null, "кот", "много есть и спит", true, null, null, null);
 
         user = new User(null, "ivanov", "ivanov@gmail.com");
     }
@@ -81,6 +81,27 @@ public class IntegrationItemTest {
         }
     }
 
+    @Test
+    @DisplayName("Тест на поиск доступных предметов по тексту")
+    void findByRequestTest() {
+        user.setEmail("petrov@gmail.com");
+        ResponseEntity<User> responseUser = restTemplate.postForEntity("/users", user, User.class);
+        String userId = responseUser.getBody().getId().toString();
+
+        item2.setAvailable(false);
+        ResponseEntity<Item> saw = getPostResponseWithHeader(item1, userId);
+        getPostResponseWithHeader(item2, userId);
+
+        Item[] foundByName = getGetResponseWithHeaderWithRequest(userId, "ПИЛА").getBody();
+        Item[] foundByDescription = getGetResponseWithHeaderWithRequest(userId, "половины").getBody();
+        Item[] notAvailable = getGetResponseWithHeaderWithRequest(userId, "кот").getBody();
+
+        assertEquals(1, foundByName.length);
+        assertEquals(saw.getBody().getId(), foundByName[0].getId());
+        assertEquals(1, foundByDescription.length);
+        assertEquals(0, notAvailable.length);
+    }
+
     private ResponseEntity<Item> getPostResponseWithHeader(Item item, String userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.add("X-Sharer-User-Id", userId);
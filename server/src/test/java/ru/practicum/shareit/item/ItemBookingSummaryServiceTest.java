@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryMapper;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemBookingSummaryServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 5, 3, 12, 0);
+
+    @Mock
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private ItemBookingSummaryService summaryService;
+
+    @Test
+    @DisplayName("Тест на обновление сводки предмета при одобрении букингов")
+    public void onApprovedTest() {
+        ItemBookingSummary summary = new ItemBookingSummary(1L);
+        when(summaryRepository.lockByItemId(1L)).thenReturn(Optional.of(summary));
+        BookingBriefDto past = new BookingBriefDto(1L, NOW.minusDays(2), NOW.minusDays(1), 1L, 5L);
+        BookingBriefDto later = new BookingBriefDto(2L, NOW.plusDays(3), NOW.plusDays(4), 1L, 5L);
+        BookingBriefDto sooner = new BookingBriefDto(3L, NOW.plusDays(1), NOW.plusDays(2), 1L, 5L);
+
+        summaryService.onApproved(past, NOW);
+        summaryService.onApproved(later, NOW);
+        summaryService.onApproved(sooner, NOW);
+
+        assertEquals(past, ItemBookingSummaryMapper.toLastBooking(summary));
+        assertEquals(sooner, ItemBookingSummaryMapper.toNextBooking(summary));
+        assertEquals(NOW, summary.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Тест на перенос закончившегося следующего букинга в последний")
+    public void refreshTest() {
+        BookingBriefDto ended = new BookingBriefDto(3L, NOW.minusDays(2), NOW.minusHours(1), 1L, 5L);
+        BookingBriefDto upcoming = new BookingBriefDto(2L, NOW.plusDays(3), NOW.plusDays(4), 1L, 5L);
+        ItemBookingSummary summary = new ItemBookingSummary(1L);
+        ItemBookingSummaryMapper.setNextBooking(summary, ended);
+        when(summaryRepository.lockByItemId(1L)).thenReturn(Optional.of(summary));
+        when(bookingRepository.findLastBookingsByItemIds(List.of(1L), NOW, BookingStatus.APPROVED))
+                .thenReturn(List.of(ended));
+        when(bookingRepository.findBriefByItemIdAndStatusAndEndAfter(eq(1L), eq(BookingStatus.APPROVED), eq(NOW),
+                any(Pageable.class))).thenReturn(List.of(upcoming));
+
+        summaryService.refresh(1L, NOW);
+
+        assertEquals(ended, ItemBookingSummaryMapper.toLastBooking(summary));
+        assertEquals(upcoming, ItemBookingSummaryMapper.toNextBooking(summary));
+    }
+
+    @Test
+    @DisplayName("Тест на поздний пересчет сводки после окончания двух букингов")
+    public void refreshLateTest() {
+        BookingBriefDto earlier = new BookingBriefDto(3L, NOW.minusDays(3), NOW.minusDays(2), 1L, 5L);
+        BookingBriefDto later = new BookingBriefDto(4L, NOW.minusDays(2), NOW.minusHours(1), 1L, 6L);
+        ItemBookingSummary summary = new ItemBookingSummary(1L);
+        ItemBookingSummaryMapper.setNextBooking(summary, earlier);
+        when(summaryRepository.lockByItemId(1L)).thenReturn(Optional.of(summary));
+        when(bookingRepository.findLastBookingsByItemIds(List.of(1L), NOW, BookingStatus.APPROVED))
+                .thenReturn(List.of(later));
+
+        summaryService.refresh(1L, NOW);
+
+        assertEquals(later, ItemBookingSummaryMapper.toLastBooking(summary));
+        assertNull(ItemBookingSummaryMapper.toNextBooking(summary));
+    }
+
+    @Test
+    @DisplayName("Тест на восстановление сводки после удаления последнего букинга")
+    public void refreshDeletedTest() {
+        BookingBriefDto previous = new BookingBriefDto(1L, NOW.minusDays(5), NOW.minusDays(4), 1L, 5L);
+        ItemBookingSummary summary = new ItemBookingSummary(1L);
+        ItemBookingSummaryMapper.setLastBooking(summary, new BookingBriefDto(4L, NOW.minusDays(2),
+                NOW.minusDays(1), 1L, 6L));
+        summary.setLastBookingId(null);
+        when(summaryRepository.lockByItemId(1L)).thenReturn(Optional.of(summary));
+        when(bookingRepository.findLastBookingsByItemIds(List.of(1L), NOW, BookingStatus.APPROVED))
+                .thenReturn(List.of(previous));
+
+        summaryService.refresh(1L, NOW);
+
+        assertEquals(previous, ItemBookingSummaryMapper.toLastBooking(summary));
+        assertNull(ItemBookingSummaryMapper.toNextBooking(summary));
+    }
+}
@@ -11,12 +11,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -182,4 +187,90 @@ public class ItemControllerTest {
         verify(itemService, times(1))
                 .findByRequest(any(String.class), any(Integer.class), any(Integer.class));
     }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест эндпоинта /items на нечеткий поиск предметов")
+    public void findByFuzzyRequestTest() {
+        when(itemService.findFuzzyByRequest(any(String.class), any(Integer.class), any(Integer.class)))
+                .thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/items/search")
+                        .param("text", "Itme")
+                        .param("fuzzy", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class));
+
+        verify(itemService, never())
+                .findByRequest(any(String.class), any(Integer.class), any(Integer.class));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест эндпоинта /items на подсказки названий предметов")
+    public void suggestTest() {
+        when(itemService.suggest(any(String.class), any(Integer.class)))
+                .thenReturn(List.of("Item"));
+
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "It"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Item\"]"));
+
+        verify(itemService, times(1)).suggest("It", 10);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест эндпоинта /items на поиск предметов, свободных в заданные даты")
+    public void findFreeByRequestTest() {
+        when(itemService.findFreeByRequest(any(String.class), any(Integer.class), any(Integer.class),
+                any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/items/search")
+                        .param("text", "Item")
+                        .param("start", "2030-05-03")
+                        .param("end", "2030-05-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class));
+
+        verify(itemService, times(1)).findFreeByRequest("Item", 0, 10,
+                LocalDate.of(2030, 5, 3), LocalDate.of(2030, 5, 5));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест эндпоинта /items на выгрузку измененных предметов")
+    public void findChangedTest() {
+        when(itemService.findChanged(any(Long.class), any(Integer.class)))
+                .thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/items/changes")
+                        .param("afterId", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Search-Engine", "sql"))
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class));
+
+        verify(itemService, times(1)).findChanged(5L, 1000);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("Тест эндпоинта /items на календарь занятости предмета")
+    public void getCalendarTest() {
+        when(itemService.getCalendar(any(Long.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(new BookingIntervalDto(5L, LocalDateTime.of(2030, 5, 3, 12, 0),
+                        LocalDateTime.of(2030, 5, 4, 12, 0), BookingStatus.APPROVED)));
+
+        mvc.perform(get("/items/1/calendar")
+                        .param("from", "2030-05-01")
+                        .param("to", "2030-05-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start", is("2030-05-03T12:00:00")))
+                .andExpect(jsonPath("$[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$[0].bookingId").doesNotExist());
+
+        verify(itemService, times(1)).getCalendar(1L, LocalDate.of(2030, 5, 1), LocalDate.of(2030, 5, 31));
+    }
 }
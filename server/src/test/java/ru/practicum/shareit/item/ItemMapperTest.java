@@ -19,7 +19,7 @@ public class ItemMapperTest {
 
     @BeforeEach
     private void beforeEach() {
-        item = new Item(1L, "Item", "Description", true, null, null);
+        item = new Item(1L, "Item", "Description", true, null, null, null);
 
         itemDto = new ItemDto();
         itemDto.setId(1L);
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.ItemNameTrie;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemNameTrieTest {
+    private ItemNameTrie trie;
+
+    @BeforeEach
+    public void beforeEach() {
+        trie = new ItemNameTrie();
+        trie.put(1L, "Дрель", true);
+        trie.put(2L, "Дрель", true);
+        trie.put(3L, "Дрель ударная", true);
+        trie.put(4L, "Домкрат", true);
+        trie.put(5L, "Дрезина", false);
+    }
+
+    @Test
+    @DisplayName("Тест на подсказки по популярности и алфавиту")
+    public void suggestTest() {
+        assertEquals(List.of("Дрель", "Домкрат", "Дрель ударная"), trie.suggest("д", 10));
+        assertEquals(List.of("Дрель", "Дрель ударная"), trie.suggest("ДР", 10));
+        assertEquals(List.of("Дрель"), trie.suggest("д", 1));
+        assertTrue(trie.suggest("молоток", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест на обновление названий и доступности")
+    public void updateTest() {
+        trie.put(1L, "Дрель ударная", true);
+        trie.put(2L, "Дрель ударная", true);
+        assertEquals(List.of("Дрель ударная"), trie.suggest("дрель", 10));
+
+        trie.put(4L, "Домкрат", false);
+        trie.put(5L, "Дрезина", true);
+        assertEquals(List.of("Дрель ударная", "Дрезина"), trie.suggest("д", 10));
+    }
+
+    @Test
+    @DisplayName("Тест на удаление предметов с общим названием")
+    public void removeTest() {
+        trie.remove(1L);
+        assertEquals(List.of("Домкрат", "Дрель", "Дрель ударная"), trie.suggest("д", 10));
+
+        trie.remove(2L);
+        trie.remove(5L);
+        trie.remove(99L);
+        assertEquals(List.of("Дрель ударная"), trie.suggest("дрел", 10));
+
+        trie.remove(3L);
+        assertTrue(trie.suggest("дрел", 10).isEmpty());
+        assertEquals(List.of("Домкрат"), trie.suggest("д", 10));
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingRemovedEvent;
+import ru.practicum.shareit.booking.service.BookingSavedEvent;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.search.ItemOccupancyIndex;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemOccupancyIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private ItemOccupancyIndex index;
+
+    private final LocalDate friday = LocalDate.of(2030, 5, 3);
+
+    @Test
+    @DisplayName("Тест на построение индекса занятости из одобренных бронирований")
+    public void buildTest() {
+        BookingPeriodView booking = new BookingPeriodView() {
+            public Long getId() {
+                return 1L;
+            }
+
+            public Long getItemId() {
+                return 1L;
+            }
+
+            public LocalDateTime getStart() {
+                return friday.atTime(10, 0);
+            }
+
+            public LocalDateTime getEnd() {
+                return friday.plusDays(1).atStartOfDay();
+            }
+        };
+        when(bookingRepository.findPeriodsByStatusAfter(eq(BookingStatus.APPROVED), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(booking));
+
+        index.build();
+
+        assertFalse(index.isFree(1L, friday, friday.plusDays(2)));
+        assertTrue(index.isFree(1L, friday.plusDays(1), friday.plusDays(2)));
+        assertTrue(index.isFree(2L, friday, friday.plusDays(2)));
+    }
+
+    @Test
+    @DisplayName("Тест на обновление индекса занятости при одобрении бронирования")
+    public void bookingSavedTest() {
+        index.onBookingSaved(new BookingSavedEvent(1L, 1L, 1L, 2L, friday.atTime(18, 0),
+                friday.plusDays(2).atTime(12, 0), BookingStatus.WAITING));
+        assertTrue(index.isFree(1L, friday, friday.plusDays(2)));
+
+        index.onBookingSaved(new BookingSavedEvent(1L, 1L, 1L, 2L, friday.atTime(18, 0),
+                friday.plusDays(2).atTime(12, 0), BookingStatus.APPROVED));
+        assertFalse(index.isFree(1L, friday.plusDays(1), friday.plusDays(1)));
+        assertFalse(index.isFree(1L, friday.plusDays(2), friday.plusDays(5)));
+        assertTrue(index.isFree(1L, friday.plusDays(3), friday.plusDays(5)));
+        assertTrue(index.isFree(1L, friday.minusDays(3), friday.minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Тест на освобождение дней удаленного бронирования")
+    public void bookingRemovedTest() {
+        index.onBookingSaved(new BookingSavedEvent(1L, 1L, 1L, 2L, friday.atTime(10, 0),
+                friday.plusDays(1).atTime(12, 0), BookingStatus.APPROVED));
+        index.onBookingSaved(new BookingSavedEvent(2L, 1L, 1L, 3L, friday.plusDays(1).atTime(14, 0),
+                friday.plusDays(2).atTime(12, 0), BookingStatus.APPROVED));
+        BookingPeriodView remaining = mock(BookingPeriodView.class);
+        when(remaining.getStart()).thenReturn(friday.plusDays(1).atTime(14, 0));
+        when(remaining.getEnd()).thenReturn(friday.plusDays(2).atTime(12, 0));
+        when(bookingRepository.findPeriodsByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(remaining));
+
+        index.onBookingRemoved(new BookingRemovedEvent(1L, 1L));
+
+        assertTrue(index.isFree(1L, friday, friday));
+        assertFalse(index.isFree(1L, friday.plusDays(1), friday.plusDays(1)));
+        assertFalse(index.isFree(1L, friday.plusDays(2), friday.plusDays(2)));
+
+        when(bookingRepository.findPeriodsByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of());
+        index.onBookingRemoved(new BookingRemovedEvent(2L, 1L));
+
+        assertTrue(index.isFree(1L, friday, friday.plusDays(2)));
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.service.ItemRemovedEvent;
+import ru.practicum.shareit.item.service.ItemSavedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemSearchCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+    private AtomicInteger loads;
+    private ItemDto drill;
+
+    @BeforeEach
+    public void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(meterRegistry, 2, Duration.ofMinutes(1), Clock.systemUTC());
+        loads = new AtomicInteger();
+        drill = itemDto(1L, "Дрель", "Простая дрель", true);
+    }
+
+    @Test
+    @DisplayName("Тест на попадание в кэш без учета регистра")
+    public void hitTest() {
+        cache.get("Дрель", 0, 10, this::load);
+        cache.get("дрЕЛЬ", 0, 10, this::load);
+        cache.get("дрель", 1, 10, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, meterRegistry.counter("item.search.cache.requests", "result", "hit").count());
+        assertEquals(2, meterRegistry.counter("item.search.cache.requests", "result", "miss").count());
+    }
+
+    @Test
+    @DisplayName("Тест на вытеснение по размеру и времени жизни")
+    public void evictionTest() {
+        cache.get("a", 0, 10, this::load);
+        cache.get("b", 0, 10, this::load);
+        cache.get("c", 0, 10, this::load);
+        assertEquals(2, cache.size());
+        assertEquals(1, meterRegistry.counter("item.search.cache.evictions", "cause", "size").count());
+
+        ItemSearchCache expiring = new ItemSearchCache(meterRegistry, 2, Duration.ZERO, Clock.systemUTC());
+        expiring.get("a", 0, 10, this::load);
+        expiring.get("a", 0, 10, this::load);
+        assertEquals(5, loads.get());
+        assertEquals(1, meterRegistry.counter("item.search.cache.evictions", "cause", "expired").count());
+    }
+
+    @Test
+    @DisplayName("Тест на инвалидацию при сохранении предмета")
+    public void invalidationTest() {
+        cache.get("дрель", 0, 10, this::load);
+        cache.get("пила", 0, 10, () -> List.of());
+
+        cache.onItemSaved(new ItemSavedEvent(itemDto(2L, "Отвертка", "Крестовая", true)));
+        assertEquals(2, cache.size());
+
+        cache.onItemSaved(new ItemSavedEvent(itemDto(1L, "Дрель", "Простая дрель", false)));
+        assertEquals(1, cache.size());
+
+        cache.onItemSaved(new ItemSavedEvent(itemDto(3L, "Ножовка", "Пила по дереву", true)));
+        assertEquals(0, cache.size());
+        assertEquals(2, meterRegistry.counter("item.search.cache.evictions", "cause", "invalidated").count());
+    }
+
+    @Test
+    @DisplayName("Тест на инвалидацию всех страниц запроса")
+    public void invalidationLaterPagesTest() {
+        cache = new ItemSearchCache(meterRegistry, 10, Duration.ofMinutes(1), Clock.systemUTC());
+        cache.get("дрель", 0, 1, this::load);
+        cache.get("дрель", 1, 1, () -> List.of(itemDto(2L, "Дрель", "Ударная дрель", true)));
+        cache.get("дрель", 2, 1, () -> List.of(itemDto(3L, "Дрель", "Угловая дрель", true)));
+        cache.get("пила", 0, 1, () -> List.of(itemDto(4L, "Пила", "Ножовка", true)));
+
+        cache.onItemSaved(new ItemSavedEvent(itemDto(1L, "Дрель", "Простая дрель", false)));
+        assertEquals(1, cache.size());
+        assertEquals(3, meterRegistry.counter("item.search.cache.evictions", "cause", "invalidated").count());
+
+        cache.get("дрель", 0, 1, this::load);
+        cache.get("дрель", 1, 1, () -> List.of(itemDto(2L, "Дрель", "Ударная дрель", true)));
+        cache.onItemRemoved(new ItemRemovedEvent(2L));
+        assertEquals(1, cache.size());
+
+        cache.onItemRemoved(new ItemRemovedEvent(4L));
+        assertEquals(0, cache.size());
+    }
+
+    private List<ItemDto> load() {
+        loads.incrementAndGet();
+        return List.of(drill);
+    }
+
+    private ItemDto itemDto(Long id, String name, String description, Boolean available) {
+        ItemDto result = new ItemDto();
+        result.setId(id);
+        result.setName(name);
+        result.setDescription(description);
+        result.setAvailable(available);
+        return result;
+    }
+}
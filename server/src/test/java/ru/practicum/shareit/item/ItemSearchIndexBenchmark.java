@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Search latency of the compacted off-heap item search index against the on-heap index it
+ * replaced, which is the same index never compacted: every posting list stays in the on-heap
+ * dictionary. The writes group searches while one thread keeps writing, so the off-heap base is
+ * rebuilt in the background every {@code 10000} writes. Run with
+ * {@code mvn -pl server test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ru.practicum.shareit.item.ItemSearchIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ItemSearchIndexBenchmark {
+    private static final String[] NAMES = {"Дрель", "Перфоратор", "Шуруповерт", "Лестница", "Палатка",
+            "Велосипед", "Самокат", "Отвертка", "Пила", "Болгарка", "Удочка", "Рюкзак", "Проектор", "Гитара"};
+    private static final String[] ADJECTIVES = {"аккумуляторная", "ударная", "складная", "туристическая",
+            "детская", "профессиональная", "новая", "легкая", "большая", "компактная", "электрическая"};
+    private static final String[] DETAILS = {"в кейсе", "с зарядкой", "без батареи", "на 4 человека",
+            "с набором бит", "алюминиевая", "для дачи", "с чехлом", "2 скорости", "почти не использовалась"};
+    private static final String[] QUERIES = {"дрель", "аккумулятор", "складн", "палатка туристическая", "вер"};
+
+    @Param({"100000"})
+    private int itemCount;
+
+    private List<ItemDto> items;
+    private ItemSearchIndex index;
+    private ItemSearchIndex onHeap;
+    private final AtomicInteger query = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemSearchIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        items = new ArrayList<>(itemCount);
+        for (long id = 1; id <= itemCount; id++) {
+            ItemDto item = new ItemDto();
+            item.setId(id);
+            item.setName(pick(random, NAMES) + " " + pick(random, ADJECTIVES));
+            item.setDescription(pick(random, ADJECTIVES) + " " + pick(random, NAMES).toLowerCase() + " "
+                    + pick(random, DETAILS));
+            item.setAvailable(true);
+            items.add(item);
+        }
+
+        long heapBefore = usedHeap();
+        index = new ItemSearchIndex();
+        items.forEach(index::put);
+        index.compact();
+        long indexHeap = usedHeap() - heapBefore;
+
+        heapBefore = usedHeap();
+        onHeap = new ItemSearchIndex(Integer.MAX_VALUE, Runnable::run);
+        items.forEach(onHeap::put);
+        long onHeapHeap = usedHeap() - heapBefore;
+
+        System.out.printf("%nindex: ~%d KB heap (item texts), %d KB postings off-heap%n",
+                indexHeap / 1024, index.offHeapBytes() / 1024);
+        System.out.printf("never compacted index: ~%d KB heap%n", onHeapHeap / 1024);
+    }
+
+    @Benchmark
+    public List<Long> offHeap() {
+        return index.search(nextQuery(), 0, 20);
+    }
+
+    @Benchmark
+    public List<Long> onHeap() {
+        return onHeap.search(nextQuery(), 0, 20);
+    }
+
+    @Benchmark
+    @Group("writes")
+    @GroupThreads(3)
+    public List<Long> searchWhileWriting() {
+        return index.search(nextQuery(), 0, 20);
+    }
+
+    @Benchmark
+    @Group("writes")
+    @GroupThreads(1)
+    public void write() {
+        ItemDto item = items.get(written.getAndIncrement() % items.size());
+        index.put(ItemMapper.copyItemDto(item));
+    }
+
+    private String nextQuery() {
+        return QUERIES[Math.floorMod(query.incrementAndGet(), QUERIES.length)];
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchIndexSnapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemSearchIndexSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Тест на запись и чтение снимка поискового индекса")
+    public void writeAndReadTest() throws IOException {
+        ItemSearchIndex index = new ItemSearchIndex();
+        index.put(itemDto(1L, "Дрель", "Простая дрель", 7L));
+        index.put(itemDto(2L, "Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", null));
+        index.compact();
+        index.put(itemDto(3L, "Дрель ударная", "Ударная дрель", null));
+        index.remove(2L);
+        index.put(itemDto(2L, "Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", null));
+        LocalDateTime takenAt = LocalDateTime.of(2030, 5, 3, 12, 30, 15);
+        Path file = directory.resolve("index.snapshot");
+
+        new ItemSearchIndexSnapshot(index, takenAt).write(file);
+        ItemSearchIndexSnapshot snapshot = ItemSearchIndexSnapshot.read(file);
+        ItemSearchIndex restored = snapshot.getIndex();
+
+        assertEquals(takenAt, snapshot.getTakenAt());
+        assertEquals(3, restored.size());
+        assertEquals(List.of(1L, 2L, 3L), restored.search("дрел", 0, 10));
+        assertEquals(List.of(2L), restored.search("аккумулятор", 0, 10));
+
+        restored.put(itemDto(1L, "Молоток", "Обычный молоток", null));
+        assertEquals(List.of(2L, 3L), restored.search("дрель", 0, 10));
+        assertTrue(restored.search("простая", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест на чтение поврежденного снимка поискового индекса")
+    public void readWrongFileTest() throws IOException {
+        Path file = directory.resolve("wrong.snapshot");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> ItemSearchIndexSnapshot.read(file));
+    }
+
+    @Test
+    @DisplayName("Тест на чтение обрезанного и испорченного снимка поискового индекса")
+    public void readCorruptFileTest() throws IOException {
+        ItemSearchIndex index = new ItemSearchIndex();
+        index.put(itemDto(1L, "Дрель", "Простая дрель", 7L));
+        index.compact();
+        index.put(itemDto(2L, "Дрель ударная", "Ударная дрель", null));
+        Path file = directory.resolve("index.snapshot");
+        new ItemSearchIndexSnapshot(index, LocalDateTime.of(2030, 5, 3, 12, 0)).write(file);
+        byte[] written = Files.readAllBytes(file);
+
+        for (int length = 17; length < written.length; length += 7) {
+            Files.write(file, Arrays.copyOf(written, length));
+            assertThrows(IOException.class, () -> ItemSearchIndexSnapshot.read(file), "truncated to " + length);
+        }
+        Random random = new Random(3);
+        for (int attempt = 0; attempt < 50; attempt++) {
+            byte[] damaged = written.clone();
+            for (int i = 16; i < damaged.length; i++) {
+                damaged[i] = (byte) random.nextInt();
+            }
+            Files.write(file, damaged);
+            assertThrows(IOException.class, () -> ItemSearchIndexSnapshot.read(file));
+        }
+    }
+
+    @Test
+    @DisplayName("Тест на изменение поискового индекса во время записи снимка")
+    public void writeOutsideLockTest() throws Exception {
+        ItemSearchIndex index = new ItemSearchIndex();
+        index.put(itemDto(1L, "Дрель", "Простая дрель", null));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream slowOutput = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> snapshot = executor.submit(() -> {
+                index.writeTo(new DataOutputStream(slowOutput));
+                return null;
+            });
+            assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> index.put(itemDto(2L, "Дрель ударная", "Ударная дрель", null)));
+            assertEquals(2, index.search("дрель", 0, 10).size());
+
+            release.countDown();
+            snapshot.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private ItemDto itemDto(Long id, String name, String description, Long requestId) {
+        ItemDto result = new ItemDto();
+        result.setId(id);
+        result.setName(name);
+        result.setDescription(description);
+        result.setAvailable(true);
+        result.setRequestId(requestId);
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    public void beforeEach() {
+        index = new ItemSearchIndex();
+        index.put(itemDto(1L, "Дрель", "Простая дрель", true));
+        index.put(itemDto(2L, "Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", true));
+        index.put(itemDto(3L, "Отвертка", "Аккумуляторная отвертка", false));
+        index.put(itemDto(4L, "Клей Момент", "Тюбик суперклея марки Момент", true));
+    }
+
+    @Test
+    @DisplayName("Тест на поиск по подстроке в названии и описании")
+    public void searchSubstringTest() {
+        assertEquals(List.of(1L, 2L), index.search("дРЕль", 0, 10));
+        assertEquals(List.of(2L), index.search("кумулятор", 0, 10));
+        assertEquals(List.of(4L), index.search("перкл", 0, 10));
+        assertEquals(List.of(4L), index.search("марки мом", 0, 10));
+        assertTrue(index.search("дрель отвертка", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест на исключение недоступных предметов и переиндексацию")
+    public void availabilityTest() {
+        assertTrue(index.search("отвертка", 0, 10).isEmpty());
+
+        index.put(itemDto(3L, "Отвертка", "Аккумуляторная отвертка", true));
+        assertEquals(List.of(2L, 3L), index.search("аккумуляторная", 0, 10));
+
+        index.put(itemDto(2L, "Молоток", "Обычный молоток", true));
+        assertEquals(List.of(3L), index.search("аккумуляторная", 0, 10));
+        assertEquals(List.of(2L), index.search("молот", 0, 10));
+
+        index.put(itemDto(1L, "Дрель", "Простая дрель", false));
+        assertTrue(index.search("дрель", 0, 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Тест на постраничный поиск")
+    public void searchPageTest() {
+        assertEquals(List.of(1L), index.search("дрель", 0, 1));
+        assertEquals(List.of(2L), index.search("дрель", 1, 1));
+        assertTrue(index.search("дрель", 2, 1).isEmpty());
+        assertTrue(index.search("!!!", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест на поиск после сжатия индекса и изменения предметов")
+    public void compactTest() {
+        index.compact();
+        assertTrue(index.offHeapBytes() > 0);
+        assertEquals(List.of(1L, 2L), index.search("дрель", 0, 10));
+
+        index.put(itemDto(2L, "Молоток", "Обычный молоток", true));
+        index.put(itemDto(5L, "Дрель ударная", "Ударная дрель", true));
+        index.remove(4L);
+        assertEquals(List.of(1L, 5L), index.search("дрель", 0, 10));
+        assertEquals(List.of(2L), index.search("молот", 0, 10));
+        assertTrue(index.search("момент", 0, 10).isEmpty());
+
+        index.compact();
+        assertEquals(List.of(1L, 5L), index.search("дрель", 0, 10));
+        assertEquals(List.of(2L), index.search("молот", 0, 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Тест на поиск и запись во время сжатия индекса в фоне")
+    public void backgroundCompactionTest() throws InterruptedException {
+        ExecutorService compactor = Executors.newSingleThreadExecutor();
+        ItemSearchIndex background = new ItemSearchIndex(50, compactor);
+        TreeSet<Long> drills = new TreeSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            long id = 1 + random.nextInt(500);
+            if (random.nextInt(5) == 0) {
+                background.remove(id);
+                drills.remove(id);
+            } else if (random.nextBoolean()) {
+                background.put(itemDto(id, "Дрель " + i, "Ударная дрель", true));
+                drills.add(id);
+            } else {
+                background.put(itemDto(id, "Молоток " + i, "Обычный молоток", random.nextBoolean()));
+                drills.remove(id);
+            }
+            if (i % 50 == 0) {
+                assertEquals(List.copyOf(drills), background.search("дрель", 0, 500));
+            }
+        }
+        compactor.shutdown();
+        assertTrue(compactor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertTrue(background.offHeapBytes() > 0);
+        assertEquals(List.copyOf(drills), background.search("дрель", 0, 500));
+        background.compact();
+        assertEquals(List.copyOf(drills), background.search("дрель", 0, 500));
+    }
+
+    private ItemDto itemDto(Long id, String name, String description, Boolean available) {
+        ItemDto result = new ItemDto();
+        result.setId(id);
+        result.setName(name);
+        result.setDescription(description);
+        result.setAvailable(available);
+        return result;
+    }
+}
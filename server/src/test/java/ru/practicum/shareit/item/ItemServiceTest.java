@@ -1,16 +1,23 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.dto.BookingBriefDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingMapper;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ObjectNotFoundException;
@@ -21,14 +28,26 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.CommentMapper;
 import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.item.service.ItemSavedEvent;
+import ru.practicum.shareit.item.search.FuzzyItemSearch;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemOccupancyIndex;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryMapper;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.journal.service.ChangeJournal;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -38,6 +57,12 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,6 +83,36 @@ public class ItemServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Spy
+    private ItemSearchCache itemSearchCache = new ItemSearchCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Mock
+    private FuzzyItemSearch fuzzyItemSearch;
+
+    @Mock
+    private ObjectProvider<FuzzyItemSearch> fuzzyItemSearchProvider;
+
+    @Mock
+    private ItemNameSuggester itemNameSuggester;
+
+    @Mock
+    private ItemOccupancyIndex itemOccupancyIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingCalendar bookingCalendar;
+
+    @Mock
+    private ChangeJournal changeJournal;
+
+    @Mock
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -74,11 +129,11 @@ public class ItemServiceTest {
     public void beforeEach() {
         user = new User(1L, "Ivanov", "ivanov@mail.ru");
         itemRequest = new ItemRequest(1L, "description", new User(2L, "Petrov", "Petrov@mail.ru"), LocalDateTime.now());
-        item = new Item(1L, "Item", "Description", true, user, itemRequest);
+        item = new Item(1L, "Item", "Description", true, user, itemRequest, null);
         itemDto = ItemMapper.toItemDto(item);
         comment = new Comment(1L, "comment", item, user, LocalDateTime.now());
         commentDto = CommentMapper.toCommentDto(comment);
-        booking = new Booking(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(1), item, user, BookingStatus.APPROVED);
+        booking = new Booking(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(1), item, user, user.getId(), BookingStatus.APPROVED, 0L);
     }
 
     @Test
@@ -95,6 +150,8 @@ public class ItemServiceTest {
 
         ItemDto result = itemService.create(itemDto, 1L);
 
+        verify(eventPublisher).publishEvent(any(ItemSavedEvent.class));
+
         assertEquals(itemDto.getName(), result.getName());
         assertEquals(itemDto.getDescription(), result.getDescription());
         assertEquals(itemDto.getAvailable(), result.getAvailable());
@@ -202,27 +259,163 @@ public class ItemServiceTest {
     @Test
     @DisplayName("Тест на получение всех предметов владельцем")
     public void findAllItemsTest() {
-        when(itemRepository.findAllByOwnerId(any(Long.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+        when(itemRepository.findAllByOwnerIdOrderByLastBookingDesc(any(Long.class), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
 
         List<ItemDto> result = itemService.getAllByUserId(1L, 0, 10);
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    @DisplayName("Тест на получение всех предметов владельцем с бронированиями и комментариями")
+    public void findAllItemsWithBookingsTest() {
+        BookingBriefDto lastBooking = BookingMapper.toBookingBriefDto(booking);
+
+        when(itemRepository.findAllByOwnerIdOrderByLastBookingDesc(any(Long.class), any(Pageable.class)))
+                .thenReturn(List.of(item));
+
+        when(commentRepository.findAllByItemIdIn(anyCollection()))
+                .thenReturn(List.of(comment));
+
+        ItemBookingSummary summary = new ItemBookingSummary(item.getId());
+        ItemBookingSummaryMapper.setLastBooking(summary, lastBooking);
+        when(itemBookingSummaryRepository.findAllByItemIdIn(anyCollection()))
+                .thenReturn(List.of(summary));
+
+        List<ItemDto> result = itemService.getAllByUserId(1L, 0, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(item.getId(), result.get(0).getId());
+        assertEquals(lastBooking, result.get(0).getLastBooking());
+        assertNull(result.get(0).getNextBooking());
+        assertEquals(comment.getText(), result.get(0).getComments().get(0).getText());
+    }
+
     @Test
     @DisplayName("Тест на получение предметов по поисковому запросу")
     public void findItemsByRequestTest() {
-        when(itemRepository.findAll(any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(item)));
+        when(itemSearchEngine.search(any(String.class), any(Integer.class), any(Integer.class)))
+                .thenReturn(List.of(itemDto));
 
-        List<Item> result = itemService.findByRequest("Item", 0, 10);
+        List<ItemDto> result = itemService.findByRequest("Item", 0, 10);
 
         assertNotNull(result);
         assertEquals(result.get(0).getId(), item.getId());
         assertEquals(result.get(0).getName(), item.getName());
     }
 
+    @Test
+    @DisplayName("Тест на поиск предметов, свободных в заданные даты")
+    public void findFreeItemsByRequestTest() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+        ItemDto busyItem = ItemMapper.toItemDto(new Item(2L, "Item 2", "Description", true, user, null, null));
+
+        when(itemSearchEngine.search("Item", 0, ItemServiceImpl.FREE_SEARCH_SCAN_PAGE))
+                .thenReturn(List.of(busyItem, itemDto));
+        when(itemOccupancyIndex.isFree(busyItem.getId(), start, end))
+                .thenReturn(false);
+        when(itemOccupancyIndex.isFree(itemDto.getId(), start, end))
+                .thenReturn(true);
+
+        List<ItemDto> result = itemService.findFreeByRequest("Item", 0, 1, start, end);
+
+        assertEquals(List.of(itemDto), result);
+    }
+
+    @Test
+    @DisplayName("Тест на ограничение просмотра результатов при поиске свободных предметов")
+    public void findFreeItemsScanLimitTest() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = start.plusDays(2);
+        List<ItemDto> busyPage = Collections.nCopies(ItemServiceImpl.FREE_SEARCH_SCAN_PAGE,
+                ItemMapper.toItemDto(new Item(2L, "Item 2", "Description", true, user, null, null)));
+
+        when(itemSearchEngine.search(eq("Item"), anyInt(), eq(ItemServiceImpl.FREE_SEARCH_SCAN_PAGE)))
+                .thenReturn(busyPage);
+        when(itemOccupancyIndex.isFree(2L, start, end))
+                .thenReturn(false);
+
+        assertThrows(BadRequestException.class, () -> itemService.findFreeByRequest("Item", 0, 10, start, end));
+        verify(itemSearchEngine, times(ItemServiceImpl.FREE_SEARCH_SCAN_LIMIT / ItemServiceImpl.FREE_SEARCH_SCAN_PAGE))
+                .search(eq("Item"), anyInt(), eq(ItemServiceImpl.FREE_SEARCH_SCAN_PAGE));
+    }
+
+    @Test
+    @DisplayName("Тест на ошибку в датах поиска свободных предметов")
+    public void findFreeItemsWrongDatesTest() {
+        LocalDate start = LocalDate.now();
+
+        assertThrows(BadRequestException.class,
+                () -> itemService.findFreeByRequest("Item", 0, 10, start, start.minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Тест на получение календаря занятости предмета")
+    public void getCalendarTest() {
+        LocalDate from = LocalDate.of(2030, 5, 3);
+        List<BookingIntervalDto> busy = List.of(new BookingIntervalDto(1L, from.atTime(12, 0),
+                from.plusDays(1).atTime(12, 0), BookingStatus.APPROVED));
+        when(itemRepository.existsById(1L))
+                .thenReturn(true);
+        when(bookingCalendar.findBusy(1L, from.atStartOfDay(), from.plusDays(2).atStartOfDay()))
+                .thenReturn(busy);
+
+        assertEquals(busy, itemService.getCalendar(1L, from, from.plusDays(1)));
+        assertThrows(BadRequestException.class, () -> itemService.getCalendar(1L, from, from.minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Тест на ошибку при получении календаря несуществующего предмета")
+    public void getCalendarWrongItemTest() {
+        LocalDate from = LocalDate.of(2030, 5, 3);
+        when(itemRepository.existsById(99L))
+                .thenReturn(false);
+
+        assertThrows(ObjectNotFoundException.class, () -> itemService.getCalendar(99L, from, from));
+        verifyNoInteractions(bookingCalendar);
+    }
+
+    @Test
+    @DisplayName("Тест на нечеткий поиск предметов")
+    public void findItemsByFuzzyRequestTest() {
+        when(fuzzyItemSearchProvider.getIfAvailable()).thenReturn(fuzzyItemSearch);
+        when(fuzzyItemSearch.search(any(String.class), any(Integer.class), any(Integer.class)))
+                .thenReturn(List.of(itemDto));
+
+        List<ItemDto> result = itemService.findFuzzyByRequest("Itme", 0, 10);
+
+        assertEquals(List.of(itemDto), result);
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    @Test
+    @DisplayName("Тест на ошибку нечеткого поиска, когда он выключен")
+    public void findItemsByFuzzyRequestDisabledTest() {
+        assertThrows(BadRequestException.class, () -> itemService.findFuzzyByRequest("Itme", 0, 10));
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    @Test
+    @DisplayName("Тест на подсказки названий предметов")
+    public void suggestTest() {
+        when(itemNameSuggester.suggest("It", 5))
+                .thenReturn(List.of("Item"));
+
+        assertEquals(List.of("Item"), itemService.suggest(" It ", 5));
+        assertTrue(itemService.suggest("", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест на пустой поисковый запрос")
+    public void findItemsByBlankRequestTest() {
+        List<ItemDto> result = itemService.findByRequest(" ", 0, 10);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(itemSearchEngine);
+    }
+
     @Test
     @DisplayName("Тест на ошибку в создании комментария")
     public void createCommentExceptionTest() {
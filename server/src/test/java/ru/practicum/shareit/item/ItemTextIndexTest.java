@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemTextIndex;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemTextIndexTest {
+    private static final String[] WORDS = {"Дрель", "дрель", "аккумуляторная", "Отвертка", "клей", "Момент",
+            "супер-клей", "drill", "Drill", "XL", "2000", "молоток", "ёлка"};
+    private static final String[] QUERIES = {"дрель", "ДРЕЛЬ", "рел", "аккум", "клей", "супер-клей", "р-к",
+            "drill", "rill 2", "xl", "000", "мент", "ёл", "дрель аккумуляторная", "-", "  ", "молоток!", "ка мо"};
+
+    @Test
+    @DisplayName("Тест на совпадение страниц поиска сервера и реплики каталога шлюза")
+    public void samePageAsServerTest() {
+        Random random = new Random(7);
+        ItemSearchIndex server = new ItemSearchIndex(20, Runnable::run);
+        ItemTextIndex<ItemDto> replica = new ItemTextIndex<>();
+
+        for (int operation = 0; operation < 2000; operation++) {
+            long id = 1 + random.nextInt(200);
+            if (random.nextInt(10) == 0) {
+                server.remove(id);
+                replica.remove(id);
+            } else {
+                ItemDto item = itemDto(id, text(random, 2), text(random, 4), random.nextInt(5) > 0);
+                server.put(item);
+                if (item.getAvailable()) {
+                    replica.put(item.getId(), item.getName(), item.getDescription(), item);
+                } else {
+                    replica.remove(item.getId());
+                }
+            }
+            if (operation % 100 == 0) {
+                for (String query : QUERIES) {
+                    for (int from = 0; from < 3; from++) {
+                        assertEquals(server.search(query, from, 5), ids(replica.search(query, from, 5)),
+                                query + " page " + from);
+                    }
+                }
+            }
+        }
+        assertEquals(server.size(), replica.size());
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < words; i++) {
+            text.append(random.nextBoolean() ? " " : ", ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static ItemDto itemDto(Long id, String name, String description, Boolean available) {
+        ItemDto result = new ItemDto();
+        result.setId(id);
+        result.setName(name);
+        result.setDescription(description);
+        result.setAvailable(available);
+        return result;
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.OffHeapPostings;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapPostingsTest {
+
+    @Test
+    @DisplayName("Тест на чтение списков идентификаторов по термину и диапазону")
+    public void getAndRangeTest() {
+        OffHeapPostings postings = OffHeapPostings.build(postings());
+
+        assertEquals(3, postings.termCount());
+        assertArrayEquals(new long[]{1L, 300L, 5_000_000_000L}, postings.get("дрель"));
+        assertArrayEquals(new long[]{2L}, postings.get("дрели"));
+        assertEquals(0, postings.get("молоток").length);
+
+        List<long[]> range = postings.range("дрел", "дрел" + Character.MAX_VALUE);
+        assertEquals(2, range.size());
+        assertTrue(postings.range("я", "я" + Character.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Тест на запись и чтение списков идентификаторов")
+    public void writeAndReadTest() throws IOException {
+        OffHeapPostings postings = OffHeapPostings.build(postings());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        postings.writeTo(out);
+        out.writeInt(42);
+
+        ByteBuffer in = ByteBuffer.allocateDirect(bytes.size());
+        in.put(bytes.toByteArray()).flip();
+        OffHeapPostings restored = OffHeapPostings.readFrom(in);
+
+        assertEquals(postings.sizeInBytes(), restored.sizeInBytes());
+        assertArrayEquals(new long[]{1L, 300L, 5_000_000_000L}, restored.get("дрель"));
+        assertArrayEquals(new long[]{7L, 8L}, restored.get("клей"));
+        assertEquals(42, in.getInt());
+    }
+
+    private NavigableMap<String, long[]> postings() {
+        NavigableMap<String, long[]> postings = new TreeMap<>();
+        postings.put("дрель", new long[]{1L, 300L, 5_000_000_000L});
+        postings.put("дрели", new long[]{2L});
+        postings.put("клей", new long[]{7L, 8L});
+        return postings;
+    }
+}
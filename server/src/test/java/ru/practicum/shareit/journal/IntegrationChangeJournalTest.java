@@ -0,0 +1,142 @@
+package ru.practicum.shareit.journal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.service.ChangeJournal;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IntegrationChangeJournalTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeJournal changeJournal;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Тест на журнал изменений предметов и его чтение с заданного номера")
+    void changesTest() {
+        long since = restTemplate.getForObject("/changes/last", Long.class);
+        User user = restTemplate.postForObject("/users", new User(null, "petrov", "petrov@journal.ru"), User.class);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", user.getId().toString());
+        ItemRequestDto request = new ItemRequestDto();
+        request.setDescription("Нужна дрель");
+        ItemRequestDto createdRequest = restTemplate.postForObject("/requests", new HttpEntity<>(request, headers),
+                ItemRequestDto.class);
+        ItemDto item = new ItemDto();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        ItemDto createdItem = restTemplate.postForObject("/items", new HttpEntity<>(item, headers), ItemDto.class);
+
+        List<JsonNode> changes = readChanges(since);
+        assertEquals(2, changes.size());
+        assertEquals(since + 1, changes.get(0).get("seq").asLong());
+        assertEquals(since + 2, changes.get(1).get("seq").asLong());
+        assertEquals("ITEM_REQUEST", changes.get(0).get("entity").asText());
+        assertEquals(createdRequest.getId(), changes.get(0).get("entityId").asLong());
+        assertEquals("ITEM", changes.get(1).get("entity").asText());
+        assertEquals("CREATE", changes.get(1).get("operation").asText());
+        assertEquals(createdItem.getId(), changes.get(1).get("entityId").asLong());
+        assertEquals("Дрель", changes.get(1).get("payload").get("name").asText());
+        assertEquals(1, readChanges(since + 1).size());
+
+        restTemplate.delete("/users/" + user.getId());
+
+        List<JsonNode> deleted = readChanges(since + 2);
+        assertEquals(2, deleted.size());
+        assertEquals("ITEM", deleted.get(0).get("entity").asText());
+        assertEquals("DELETE", deleted.get(0).get("operation").asText());
+        assertEquals(createdItem.getId(), deleted.get(0).get("entityId").asLong());
+        assertEquals("ITEM_REQUEST", deleted.get(1).get("entity").asText());
+        assertTrue(deleted.get(1).get("payload").isNull());
+        assertEquals(since + 4, restTemplate.getForObject("/changes/last", Long.class));
+    }
+
+    @Test
+    @DisplayName("Тест на запись в журнал без общей блокировки и нумерацию в порядке фиксации")
+    @SneakyThrows
+    void commitOrderTest() {
+        long since = changeJournal.lastSeq();
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    changeJournal.record(ChangeEntity.ITEM, 1L, ChangeOperation.UPDATE, null);
+                    recorded.countDown();
+                    await(release);
+                }));
+        assertTrue(recorded.await(10, TimeUnit.SECONDS));
+
+        // the open transaction above must not hold back this writer
+        CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status ->
+                changeJournal.record(ChangeEntity.ITEM, 2L, ChangeOperation.UPDATE, null))).get(10, TimeUnit.SECONDS);
+        List<JsonNode> committed = readChanges(since);
+        assertEquals(1, committed.size());
+        assertEquals(since + 1, committed.get(0).get("seq").asLong());
+        assertEquals(2L, committed.get(0).get("entityId").asLong());
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        List<JsonNode> later = readChanges(since + 1);
+        assertEquals(1, later.size());
+        assertEquals(since + 2, later.get(0).get("seq").asLong());
+        assertEquals(1L, later.get(0).get("entityId").asLong());
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @SneakyThrows
+    private List<JsonNode> readChanges(long since) {
+        ResponseEntity<String> response = restTemplate.getForEntity("/changes?since=" + since, String.class);
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        List<JsonNode> changes = new ArrayList<>();
+        if (response.getBody() != null) {
+            for (String line : response.getBody().split("\n")) {
+                changes.add(objectMapper.readTree(line));
+            }
+        }
+        return changes;
+    }
+}
@@ -7,9 +7,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.journal.service.ChangeJournal;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
@@ -39,6 +39,9 @@ public class ItemRequestServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ChangeJournal changeJournal;
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -94,7 +97,7 @@ public class ItemRequestServiceTest {
                 .thenReturn(Optional.ofNullable(user));
 
         when(itemRequestRepository.findAllByRequestorIsNot(any(User.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+                .thenReturn(new ArrayList<>());
 
         List<ItemRequestDto> result = itemRequestService.getAll(0, 10, 1L);
 
@@ -13,13 +13,17 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @AutoConfigureTestDatabase
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -32,6 +36,12 @@ public class IntegrationUserTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
     private User user1, user2;
 
     @BeforeEach
@@ -63,6 +73,24 @@ public class IntegrationUserTest {
         }
     }
 
+    @Test
+    @DisplayName("Тест на удаление предметов владельца из поиска при удалении владельца")
+    void deleteOwnerTest() {
+        User owner = userService.create(new User(null, "sidorov", "sidorov@gmail.com"));
+        ItemDto item = new ItemDto();
+        item.setName("Перфоратор");
+        item.setDescription("Мощный перфоратор");
+        item.setAvailable(true);
+        itemService.create(item, owner.getId());
+        assertEquals(1, itemService.findFuzzyByRequest("перфаратор", 0, 10).size());
+        assertEquals(List.of("Перфоратор"), itemService.suggest("перф", 10));
+
+        userService.delete(owner.getId());
+
+        assertTrue(itemService.findFuzzyByRequest("перфаратор", 0, 10).isEmpty());
+        assertTrue(itemService.suggest("перф", 10).isEmpty());
+    }
+
     private ResponseEntity<Item> getPostResponseWithHeader(Item item, String userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.add("X-Sharer-User-Id", userId);
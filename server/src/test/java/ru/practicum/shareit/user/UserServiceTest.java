@@ -7,6 +7,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.service.BookingRemovedEvent;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.service.ItemRemovedEvent;
+import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.journal.model.ChangeEntity;
+import ru.practicum.shareit.journal.model.ChangeOperation;
+import ru.practicum.shareit.journal.service.ChangeJournal;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserDto;
 import ru.practicum.shareit.user.service.UserMapper;
@@ -18,6 +29,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +39,24 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    @Mock
+    private ChangeJournal changeJournal;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -84,8 +115,23 @@ public class UserServiceTest {
     @Test
     @DisplayName("Тест на удаление пользователя по ИД")
     void deleteByIdTest() {
+        when(itemRepository.findIdsRemovedWithUser(1L)).thenReturn(List.of(5L));
+        when(bookingRepository.findIdsRemovedWithUser(1L)).thenReturn(List.of(7L, 8L));
+        BookingPeriodView booking = mock(BookingPeriodView.class);
+        when(booking.getId()).thenReturn(7L);
+        when(booking.getItemId()).thenReturn(5L);
+        when(bookingRepository.findPeriodsByIdIn(List.of(7L, 8L))).thenReturn(List.of(booking));
+
         userService.delete(1L);
+
         verify(userRepository, times(1)).deleteById(1L);
+        verify(changeJournal, times(1)).record(ChangeEntity.ITEM, 5L, ChangeOperation.DELETE, null);
+        verify(changeJournal, times(2)).record(eq(ChangeEntity.BOOKING), any(Long.class), eq(ChangeOperation.DELETE), isNull());
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof ItemRemovedEvent
+                && ((ItemRemovedEvent) event).getItemId().equals(5L)));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof BookingRemovedEvent
+                && ((BookingRemovedEvent) event).getBookingId().equals(7L)
+                && ((BookingRemovedEvent) event).getItemId().equals(5L)));
     }
 
     @Test